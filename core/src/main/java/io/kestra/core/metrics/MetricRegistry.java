@@ -49,6 +49,22 @@ public class MetricRegistry {
     public static final String METRIC_WORKER_TRIGGER_EXECUTION_COUNT_DESCRIPTION = "The total number of triggers evaluated by the Worker";
     public static final String METRIC_WORKER_KILLED_COUNT = "worker.killed.count";
     public static final String METRIC_WORKER_KILLED_COUNT_DESCRIPTION = "The total number of executions killed events received the Executor";
+    public static final String METRIC_WORKER_JOB_PERMIT_WAIT_DURATION = "worker.job.permit.wait.duration";
+    public static final String METRIC_WORKER_JOB_PERMIT_WAIT_DURATION_DESCRIPTION = "Duration a job waited for a permit before running in the virtual thread mode of the Worker";
+    public static final String METRIC_WORKER_VIRTUAL_THREAD_PINNED_DURATION = "worker.virtual.thread.pinned.duration";
+    public static final String METRIC_WORKER_VIRTUAL_THREAD_PINNED_DURATION_DESCRIPTION = "Duration virtual threads of the Worker pinned their carrier thread";
+    public static final String METRIC_WORKER_TASK_CACHE_HIT_COUNT = "worker.task.cache.hit.count";
+    public static final String METRIC_WORKER_TASK_CACHE_HIT_COUNT_DESCRIPTION = "The total number of task runs skipped as their outputs were found in the task cache";
+    public static final String METRIC_WORKER_TASK_CACHE_MISS_COUNT = "worker.task.cache.miss.count";
+    public static final String METRIC_WORKER_TASK_CACHE_MISS_COUNT_DESCRIPTION = "The total number of task runs executed as their outputs were not found in the task cache";
+    public static final String METRIC_WORKER_TASK_CACHE_EVICTION_COUNT = "worker.task.cache.eviction.count";
+    public static final String METRIC_WORKER_TASK_CACHE_EVICTION_COUNT_DESCRIPTION = "The total number of task cache entries evicted from the Worker local cache";
+    public static final String METRIC_WORKER_NAMESPACE_FILES_CACHE_HIT_COUNT = "worker.namespace.files.cache.hit.count";
+    public static final String METRIC_WORKER_NAMESPACE_FILES_CACHE_HIT_COUNT_DESCRIPTION = "The total number of namespace files copied from the Worker local cache";
+    public static final String METRIC_WORKER_NAMESPACE_FILES_CACHE_MISS_COUNT = "worker.namespace.files.cache.miss.count";
+    public static final String METRIC_WORKER_NAMESPACE_FILES_CACHE_MISS_COUNT_DESCRIPTION = "The total number of namespace files downloaded from the internal storage as they were not in the Worker local cache";
+    public static final String METRIC_WORKER_NAMESPACE_FILES_CACHE_BYTES_SAVED = "worker.namespace.files.cache.bytes.saved";
+    public static final String METRIC_WORKER_NAMESPACE_FILES_CACHE_BYTES_SAVED_DESCRIPTION = "The total number of bytes of namespace files not downloaded from the internal storage thanks to the Worker local cache";
 
     public static final String METRIC_EXECUTOR_THREAD_COUNT = "executor.thread.count";
     public static final String METRIC_EXECUTOR_THREAD_COUNT_DESCRIPTION = "The number of executor threads";
@@ -68,6 +84,8 @@ public class MetricRegistry {
     public static final String METRIC_EXECUTOR_EXECUTION_DURATION_DESCRIPTION = "Execution duration inside the Executor";
     public static final String METRIC_EXECUTOR_EXECUTION_MESSAGE_PROCESS_DURATION = "executor.execution.message.process";
     public static final String METRIC_EXECUTOR_EXECUTION_MESSAGE_PROCESS_DURATION_DESCRIPTION = "Duration of a single execution message processed by the Executor";
+    public static final String METRIC_EXECUTOR_EXECUTION_MESSAGE_PHASE_DURATION = "executor.execution.message.phase";
+    public static final String METRIC_EXECUTOR_EXECUTION_MESSAGE_PHASE_DURATION_DESCRIPTION = "Duration of a single phase of an execution message processed by the Executor";
     public static final String METRIC_EXECUTOR_KILLED_COUNT = "executor.killed.count";
     public static final String METRIC_EXECUTOR_KILLED_COUNT_DESCRIPTION = "The total number of executions killed events received the Executor";
     public static final String METRIC_EXECUTOR_SLA_EXPIRED_COUNT = "executor.sla.expired.count";
@@ -117,6 +135,18 @@ public class MetricRegistry {
     public static final String METRIC_SCHEDULER_EVALUATION_LOOP_DURATION = "scheduler.evaluation.loop.duration";
     public static final String METRIC_SCHEDULER_EVALUATION_LOOP_DURATION_DESCRIPTION = "Trigger evaluation loop duration inside the Scheduler";
 
+    public static final String METRIC_FLOW_REVISION_CACHE_HIT_COUNT = "flow.revision.cache.hit.count";
+    public static final String METRIC_FLOW_REVISION_CACHE_HIT_COUNT_DESCRIPTION = "Total number of previous flow revisions found in the flow revision cache";
+    public static final String METRIC_FLOW_REVISION_CACHE_MISS_COUNT = "flow.revision.cache.miss.count";
+    public static final String METRIC_FLOW_REVISION_CACHE_MISS_COUNT_DESCRIPTION = "Total number of previous flow revisions loaded from the repository as they were not in the flow revision cache";
+
+    public static final String METRIC_LOG_SHIPPER_QUEUED_COUNT = "log.shipper.queued.count";
+    public static final String METRIC_LOG_SHIPPER_QUEUED_COUNT_DESCRIPTION = "The number of log lines waiting in the log shipper buffer";
+    public static final String METRIC_LOG_SHIPPER_DROPPED_COUNT = "log.shipper.dropped.count";
+    public static final String METRIC_LOG_SHIPPER_DROPPED_COUNT_DESCRIPTION = "The total number of log lines dropped by the log shipper, by reason";
+    public static final String METRIC_LOG_SHIPPER_BATCH_SIZE = "log.shipper.batch.size";
+    public static final String METRIC_LOG_SHIPPER_BATCH_SIZE_DESCRIPTION = "The number of log lines emitted to the log queue in one batch";
+
     public static final String METRIC_STREAMS_STATE_COUNT = "stream.state.count";
     public static final String METRIC_STREAMS_STATE_COUNT_DESCRIPTION = "Number of Kafka Stream applications by state";
 
@@ -125,12 +155,24 @@ public class MetricRegistry {
 
     public static final String METRIC_QUEUE_BIG_MESSAGE_COUNT = "queue.big_message.count";
     public static final String METRIC_QUEUE_BIG_MESSAGE_COUNT_DESCRIPTION = "Total number of big messages";
+    public static final String METRIC_QUEUE_SERIALIZE_DURATION = "queue.serialize.duration";
+    public static final String METRIC_QUEUE_SERIALIZE_DURATION_DESCRIPTION = "Duration of the serialization of a message produced to the queue";
     public static final String METRIC_QUEUE_PRODUCE_COUNT = "queue.produce.count";
     public static final String METRIC_QUEUE_PRODUCE_COUNT_DESCRIPTION = "Total number of produced messages";
     public static final String METRIC_QUEUE_RECEIVE_DURATION = "queue.receive.duration";
     public static final String METRIC_QUEUE_RECEIVE_DURATION_DESCRIPTION = "Queue duration to receive and consume a batch of messages";
     public static final String METRIC_QUEUE_POLL_SIZE = "queue.poll.size";
     public static final String METRIC_QUEUE_POLL_SIZE_DESCRIPTION = "Size of a poll to the queue (message batch size)";
+    public static final String METRIC_QUEUE_BACKLOG_SIZE = "queue.backlog.size";
+    public static final String METRIC_QUEUE_BACKLOG_SIZE_DESCRIPTION = "Number of messages not yet consumed by a consumer (sampled)";
+    public static final String METRIC_QUEUE_BACKLOG_AGE = "queue.backlog.age";
+    public static final String METRIC_QUEUE_BACKLOG_AGE_DESCRIPTION = "Age in seconds of the oldest message not yet consumed by a consumer (sampled)";
+    public static final String METRIC_QUEUE_CONSUME_LATENCY = "queue.consume.latency";
+    public static final String METRIC_QUEUE_CONSUME_LATENCY_DESCRIPTION = "Duration between the production of a message and its consumption";
+    public static final String METRIC_QUEUE_ADAPTIVE_POLL_SIZE = "queue.adaptive.poll.size";
+    public static final String METRIC_QUEUE_ADAPTIVE_POLL_SIZE_DESCRIPTION = "Number of messages requested by the next poll, as decided by the adaptive polling";
+    public static final String METRIC_QUEUE_ADAPTIVE_POLL_INTERVAL = "queue.adaptive.poll.interval";
+    public static final String METRIC_QUEUE_ADAPTIVE_POLL_INTERVAL_DESCRIPTION = "Interval in milliseconds between two empty polls, as decided by the adaptive polling";
 
     public static final String TAG_TASK_TYPE = "task_type";
     public static final String TAG_TRIGGER_TYPE = "trigger_type";
@@ -145,6 +187,10 @@ public class MetricRegistry {
     public static final String TAG_QUEUE_CONSUMER = "consumer";
     public static final String TAG_QUEUE_CONSUMER_GROUP = "consumer_group";
     public static final String TAG_QUEUE_TYPE = "queue_type";
+    public static final String TAG_PHASE = "phase";
+    public static final String TAG_TASK_ID = "task_id";
+    public static final String TAG_CACHE_TIER = "cache_tier";
+    public static final String TAG_REASON = "reason";
 
     @Inject
     private MeterRegistry meterRegistry;
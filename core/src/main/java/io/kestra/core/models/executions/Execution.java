@@ -40,6 +40,7 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.chrono.ChronoZonedDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -125,6 +126,12 @@ public class Execution implements DeletedInterface, TenantInterface {
     @Nullable
     List<Breakpoint> breakpoints;
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    final AtomicReference<TaskRunIndex> taskRunIndex = new AtomicReference<>();
+
     /**
      * Factory method for constructing a new {@link Execution} object for the given {@link Flow}.
      *
@@ -242,7 +249,7 @@ public class Execution implements DeletedInterface, TenantInterface {
             this.fixtures,
             this.kind,
             this.breakpoints
-        );
+        ).withTaskRunIndex(this.taskRunIndex.get());
     }
 
     public Execution withLabels(List<Label> labels) {
@@ -268,23 +275,19 @@ public class Execution implements DeletedInterface, TenantInterface {
             this.fixtures,
             this.kind,
             this.breakpoints
-        );
+        ).withTaskRunIndex(this.taskRunIndex.get());
     }
 
     public Execution withTaskRun(TaskRun taskRun) throws InternalException {
         ArrayList<TaskRun> newTaskRunList = this.taskRunList == null ? new ArrayList<>() : new ArrayList<>(this.taskRunList);
 
-        boolean b = Collections.replaceAll(
-            newTaskRunList,
-            this.findTaskRunByTaskRunId(taskRun.getId()),
-            taskRun
-        );
+        TaskRun replaced = this.findTaskRunByTaskRunId(taskRun.getId());
+        TaskRunIndex index = this.taskRunIndex();
+        newTaskRunList.set(index.byId().get(taskRun.getId()), taskRun);
 
-        if (!b) {
-            throw new IllegalStateException(
-                "Can't replace taskRun '" + taskRun.getId() + "' on execution'" + this.getId()
-                    + "'");
-        }
+        // the index only depends on the identifiers of the task runs, so it stays valid unless the replacement moved in the tree
+        boolean sameIdentifiers = replaced.getTaskId().equals(taskRun.getTaskId()) &&
+            Objects.equals(replaced.getParentTaskRunId(), taskRun.getParentTaskRunId());
 
         return new Execution(
             this.tenantId,
@@ -308,7 +311,7 @@ public class Execution implements DeletedInterface, TenantInterface {
             this.fixtures,
             this.kind,
             this.breakpoints
-        );
+        ).withTaskRunIndex(sameIdentifiers ? index : null);
     }
 
     public Execution withBreakpoints(List<Breakpoint> newBreakpoints) {
@@ -334,7 +337,7 @@ public class Execution implements DeletedInterface, TenantInterface {
             this.fixtures,
             this.kind,
             newBreakpoints
-        );
+        ).withTaskRunIndex(this.taskRunIndex.get());
     }
 
     public Execution childExecution(String childExecutionId, List<TaskRun> taskRunList,
@@ -369,35 +372,26 @@ public class Execution implements DeletedInterface, TenantInterface {
             return Collections.emptyList();
         }
 
-        return this.taskRunList
-            .stream()
-            .filter(taskRun -> taskRun.getTaskId().equals(id))
-            .toList();
+        return this.taskRuns(this.taskRunIndex().byTaskId().get(id));
     }
 
     public TaskRun findTaskRunByTaskRunId(String id) throws InternalException {
-        Optional<TaskRun> find = (this.taskRunList == null ? Collections.<TaskRun>emptyList()
-            : this.taskRunList)
-            .stream()
-            .filter(taskRun -> taskRun.getId().equals(id))
-            .findFirst();
+        Integer position = this.taskRunList == null ? null : this.taskRunIndex().byId().get(id);
 
-        if (find.isEmpty()) {
+        if (position == null) {
             throw new InternalException(
                 "Can't find taskrun with taskrunId '" + id + "' on execution '" + this.id + "' "
                     + this.toStringState());
         }
 
-        return find.get();
+        return this.taskRunList.get(position);
     }
 
     public TaskRun findTaskRunByTaskIdAndValue(String id, List<String> values)
         throws InternalException {
-        Optional<TaskRun> find = (this.taskRunList == null ? Collections.<TaskRun>emptyList()
-            : this.taskRunList)
+        Optional<TaskRun> find = this.findTaskRunsByTaskId(id)
             .stream()
-            .filter(taskRun -> taskRun.getTaskId().equals(id) && findParentsValues(taskRun,
-                true).equals(values))
+            .filter(taskRun -> findParentsValues(taskRun, true).equals(values))
             .findFirst();
 
         if (find.isEmpty()) {
@@ -1026,18 +1020,15 @@ public class Execution implements DeletedInterface, TenantInterface {
             return Collections.emptyList();
         }
 
+        TaskRunIndex index = this.taskRunIndex();
         ArrayList<TaskRun> result = new ArrayList<>();
         boolean ended = false;
         while (!ended) {
-            final TaskRun finalTaskRun = taskRun;
-            Optional<TaskRun> find = this.taskRunList
-                .stream()
-                .filter(t -> t.getId().equals(finalTaskRun.getParentTaskRunId()))
-                .findFirst();
+            Integer position = taskRun.getParentTaskRunId() == null ? null : index.byId().get(taskRun.getParentTaskRunId());
 
-            if (find.isPresent()) {
-                result.add(find.get());
-                taskRun = find.get();
+            if (position != null) {
+                taskRun = this.taskRunList.get(position);
+                result.add(taskRun);
             } else {
                 ended = true;
             }
@@ -1081,9 +1072,71 @@ public class Execution implements DeletedInterface, TenantInterface {
      * Find all children of this {@link TaskRun}.
      */
     public List<TaskRun> findChildren(TaskRun parentTaskRun) {
-        return taskRunList.stream()
-            .filter(taskRun -> parentTaskRun.getId().equals(taskRun.getParentTaskRunId()))
-            .toList();
+        if (this.taskRunList == null) {
+            return Collections.emptyList();
+        }
+
+        return this.taskRuns(this.taskRunIndex().byParentId().get(parentTaskRun.getId()));
+    }
+
+    private List<TaskRun> taskRuns(@Nullable List<Integer> positions) {
+        if (positions == null) {
+            return Collections.emptyList();
+        }
+
+        return positions.stream().map(this.taskRunList::get).toList();
+    }
+
+    /**
+     * Get the index of the task run list, building it on first use.
+     * The task run list is never mutated in place by Kestra, but it's a public mutable list, so we still rebuild the index if its size changed.
+     */
+    private TaskRunIndex taskRunIndex() {
+        TaskRunIndex index = this.taskRunIndex.get();
+        List<TaskRun> taskRuns = ListUtils.emptyOnNull(this.taskRunList);
+
+        if (index == null || index.size() != taskRuns.size()) {
+            index = TaskRunIndex.of(taskRuns);
+            this.taskRunIndex.set(index);
+        }
+
+        return index;
+    }
+
+    private Execution withTaskRunIndex(@Nullable TaskRunIndex index) {
+        this.taskRunIndex.set(index);
+
+        return this;
+    }
+
+    /**
+     * Positions of the task runs in the task run list by task run id, task id, and parent task run id.
+     * It only depends on the identifiers of the task runs, so it can be shared by copies of an execution that keep the same list structure.
+     */
+    private record TaskRunIndex(int size, Map<String, Integer> byId, Map<String, List<Integer>> byTaskId, Map<String, List<Integer>> byParentId) {
+        static TaskRunIndex of(List<TaskRun> taskRuns) {
+            Map<String, Integer> byId = HashMap.newHashMap(taskRuns.size());
+            Map<String, List<Integer>> byTaskId = new HashMap<>();
+            Map<String, List<Integer>> byParentId = new HashMap<>();
+
+            for (int i = 0; i < taskRuns.size(); i++) {
+                TaskRun taskRun = taskRuns.get(i);
+
+                // keep the first one to match the previous lookups on the list
+                byId.putIfAbsent(taskRun.getId(), i);
+                byTaskId.computeIfAbsent(taskRun.getTaskId(), k -> new ArrayList<>()).add(i);
+                if (taskRun.getParentTaskRunId() != null) {
+                    byParentId.computeIfAbsent(taskRun.getParentTaskRunId(), k -> new ArrayList<>()).add(i);
+                }
+            }
+
+            return new TaskRunIndex(
+                taskRuns.size(),
+                Collections.unmodifiableMap(byId),
+                Collections.unmodifiableMap(byTaskId),
+                Collections.unmodifiableMap(byParentId)
+            );
+        }
     }
 
 
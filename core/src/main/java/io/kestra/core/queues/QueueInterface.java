@@ -15,6 +15,20 @@ public interface QueueInterface<T> extends Closeable, Pauseable {
 
     void emit(String consumerGroup, T message) throws QueueException;
 
+    default void emit(List<T> messages) throws QueueException {
+        emit(null, messages);
+    }
+
+    /**
+     * Emit a list of messages.
+     * By default, messages are emitted one by one, implementations can override it to write them in a single batch.
+     */
+    default void emit(String consumerGroup, List<T> messages) throws QueueException {
+        for (T message : messages) {
+            emit(consumerGroup, message);
+        }
+    }
+
     default void emitAsync(T message) throws QueueException {
         emitAsync(null, message);
     }
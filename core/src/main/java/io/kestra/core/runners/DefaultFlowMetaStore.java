@@ -1,27 +1,90 @@
 package io.kestra.core.runners;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.flows.FlowId;
 import io.kestra.core.models.flows.FlowInterface;
 import io.kestra.core.models.flows.FlowWithSource;
 import io.kestra.core.repositories.FlowRepositoryInterface;
 import io.kestra.core.services.FlowListenersInterface;
+import io.micrometer.core.instrument.Counter;
+import io.micronaut.context.annotation.Value;
 import jakarta.inject.Singleton;
-import java.util.Objects;
-import lombok.Setter;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Flows are resolved from an index of the last revision of each flow, kept up to date from the flow listeners,
+ * and older revisions are loaded from the repository and kept in a bounded cache, as a revision never changes once saved.
+ */
 @Singleton
 public class DefaultFlowMetaStore implements FlowMetaStoreInterface {
     private final FlowRepositoryInterface flowRepository;
 
-    @Setter
-    private List<FlowWithSource> allFlows;
+    private volatile List<FlowWithSource> allFlows;
 
-    public DefaultFlowMetaStore(FlowListenersInterface flowListeners, FlowRepositoryInterface flowRepository) {
+    private final Map<String, FlowWithSource> lastVersions = new ConcurrentHashMap<>();
+    private final AtomicBoolean initialized = new AtomicBoolean(false);
+
+    private final Cache<RevisionKey, FlowWithSource> revisions;
+    private final Counter revisionCacheHit;
+    private final Counter revisionCacheMiss;
+
+    public DefaultFlowMetaStore(
+        FlowListenersInterface flowListeners,
+        FlowRepositoryInterface flowRepository,
+        MetricRegistry metricRegistry,
+        @Value("${kestra.flow-meta-store.revision-cache.max-size:1000}") long revisionCacheMaxSize
+    ) {
         this.flowRepository = flowRepository;
-        flowListeners.listen(flows -> allFlows = flows);
+        this.revisions = Caffeine.newBuilder()
+            .maximumSize(revisionCacheMaxSize)
+            .build();
+        this.revisionCacheHit = metricRegistry.counter(MetricRegistry.METRIC_FLOW_REVISION_CACHE_HIT_COUNT, MetricRegistry.METRIC_FLOW_REVISION_CACHE_HIT_COUNT_DESCRIPTION);
+        this.revisionCacheMiss = metricRegistry.counter(MetricRegistry.METRIC_FLOW_REVISION_CACHE_MISS_COUNT, MetricRegistry.METRIC_FLOW_REVISION_CACHE_MISS_COUNT_DESCRIPTION);
+
+        // flow changes are applied incrementally, the first list of flows initializes the index
+        flowListeners.listen(this::upsert);
+        flowListeners.listen(flows -> {
+            this.initialize(flows);
+            this.allFlows = flows;
+        });
+    }
+
+    public void setAllFlows(List<FlowWithSource> allFlows) {
+        synchronized (this) {
+            this.lastVersions.clear();
+            allFlows.forEach(flow -> this.lastVersions.put(flow.uidWithoutRevision(), flow));
+            this.initialized.set(true);
+        }
+
+        this.allFlows = allFlows;
+    }
+
+    private void initialize(List<FlowWithSource> flows) {
+        synchronized (this) {
+            if (this.initialized.compareAndSet(false, true)) {
+                flows.forEach(flow -> this.lastVersions.put(flow.uidWithoutRevision(), flow));
+            }
+        }
+    }
+
+    private void upsert(FlowWithSource flow, FlowWithSource previous) {
+        String uid = flow.uidWithoutRevision();
+        synchronized (this) {
+            if (flow.isDeleted()) {
+                this.lastVersions.remove(uid);
+                this.revisions.asMap().keySet().removeIf(key -> key.uid().equals(uid));
+            } else {
+                this.lastVersions.put(uid, flow);
+            }
+        }
     }
 
     @Override
@@ -32,25 +95,36 @@ public class DefaultFlowMetaStore implements FlowMetaStoreInterface {
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public Optional<FlowInterface> findById(String tenantId, String namespace, String id, Optional<Integer> revision) {
-        Optional<FlowInterface> find = this.allFlows
-            .stream()
-            .filter(flow -> ((flow.getTenantId() == null && tenantId == null) || Objects.equals(flow.getTenantId(), tenantId)) &&
-                flow.getNamespace().equals(namespace) &&
-                flow.getId().equals(id) &&
-                (revision.isEmpty() || revision.get().equals(flow.getRevision()))
-            )
-            .map(it -> (FlowInterface)it)
-            .findFirst();
-
-        if (find.isPresent()) {
-            return find;
-        } else {
+        String uid = FlowId.uidWithoutRevision(tenantId, namespace, id);
+
+        FlowWithSource lastVersion = this.lastVersions.get(uid);
+        if (lastVersion != null && (revision.isEmpty() || revision.get().equals(lastVersion.getRevision()))) {
+            return Optional.of(lastVersion);
+        }
+
+        if (revision.isEmpty()) {
             return (Optional) flowRepository.findByIdWithSource(tenantId, namespace, id, revision);
         }
+
+        RevisionKey key = new RevisionKey(uid, revision.get());
+        FlowWithSource cached = this.revisions.getIfPresent(key);
+        if (cached != null) {
+            this.revisionCacheHit.increment();
+            return Optional.of(cached);
+        }
+
+        this.revisionCacheMiss.increment();
+        Optional<FlowWithSource> find = flowRepository.findByIdWithSource(tenantId, namespace, id, revision);
+        find.ifPresent(flow -> this.revisions.put(key, flow));
+
+        return (Optional) find;
     }
 
     @Override
     public Boolean isReady() {
         return true;
     }
+
+    private record RevisionKey(String uid, int revision) {
+    }
 }
@@ -0,0 +1,237 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ship the logs of the run contexts to the log queue in batches.<p>
+ * Log lines are buffered in a bounded buffer and a single thread emits them to the log queue,
+ * when a batch is full or when the flush interval is elapsed since the first line of the batch,
+ * instead of emitting each line asynchronously on its own.
+ * When the buffer is full, the {@link OverflowPolicy} decides whether the logging thread waits or the line is dropped.
+ */
+@Slf4j
+@Singleton
+public class LogShipper implements AutoCloseable {
+    private final QueueInterface<LogEntry> logQueue;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    private BlockingQueue<LogEntry> buffer;
+    private Thread flusher;
+    private volatile boolean closed = false;
+
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private Counter droppedOverflow;
+    private Counter droppedError;
+    private DistributionSummary batchSizeSummary;
+
+    @Inject
+    public LogShipper(
+        @Named(QueueFactoryInterface.WORKERTASKLOG_NAMED) QueueInterface<LogEntry> logQueue,
+        MetricRegistry metricRegistry,
+        @Value("${kestra.logs.shipper.enabled:false}") boolean enabled,
+        @Value("${kestra.logs.shipper.buffer-size:10000}") int bufferSize,
+        @Value("${kestra.logs.shipper.batch-size:500}") int batchSize,
+        @Value("${kestra.logs.shipper.flush-interval:200ms}") Duration flushInterval,
+        @Value("${kestra.logs.shipper.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+        @Value("${kestra.logs.shipper.sample-rate:10}") int sampleRate
+    ) {
+        this.logQueue = logQueue;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(sampleRate, 1);
+
+        if (!enabled) {
+            return;
+        }
+
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        metricRegistry.gauge(MetricRegistry.METRIC_LOG_SHIPPER_QUEUED_COUNT, MetricRegistry.METRIC_LOG_SHIPPER_QUEUED_COUNT_DESCRIPTION, this.queued);
+        this.droppedOverflow = metricRegistry.counter(MetricRegistry.METRIC_LOG_SHIPPER_DROPPED_COUNT, MetricRegistry.METRIC_LOG_SHIPPER_DROPPED_COUNT_DESCRIPTION, MetricRegistry.TAG_REASON, "overflow");
+        this.droppedError = metricRegistry.counter(MetricRegistry.METRIC_LOG_SHIPPER_DROPPED_COUNT, MetricRegistry.METRIC_LOG_SHIPPER_DROPPED_COUNT_DESCRIPTION, MetricRegistry.TAG_REASON, "error");
+        this.batchSizeSummary = metricRegistry.summary(MetricRegistry.METRIC_LOG_SHIPPER_BATCH_SIZE, MetricRegistry.METRIC_LOG_SHIPPER_BATCH_SIZE_DESCRIPTION);
+
+        this.flusher = Thread.ofPlatform()
+            .name("log-shipper")
+            .daemon(true)
+            .start(this::run);
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Add log lines to the buffer, waiting for some room or dropping them depending on the overflow policy.
+     */
+    public void offer(List<LogEntry> logEntries) {
+        if (this.closed) {
+            // nothing will drain the buffer anymore
+            this.emit(logEntries);
+            return;
+        }
+
+        for (LogEntry logEntry : logEntries) {
+            if (this.buffer.offer(logEntry)) {
+                this.queued.incrementAndGet();
+                continue;
+            }
+
+            if (this.shouldDrop(logEntry)) {
+                this.droppedOverflow.increment();
+                continue;
+            }
+
+            try {
+                this.buffer.put(logEntry);
+                this.queued.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.droppedOverflow.increment();
+                return;
+            }
+        }
+
+        // the shipper may have been closed while the lines were added, after the last drain of the buffer
+        if (this.closed) {
+            this.drain();
+        }
+    }
+
+    private boolean shouldDrop(LogEntry logEntry) {
+        Level level = logEntry.getLevel();
+        return switch (this.overflowPolicy) {
+            case BLOCK -> false;
+            case DROP_DEBUG -> level != null && level.toInt() <= Level.DEBUG.toInt();
+            // warnings and errors are always kept, other lines are sampled
+            case SAMPLE -> (level == null || level.toInt() < Level.WARN.toInt()) && this.overflowCount.getAndIncrement() % this.sampleRate != 0;
+        };
+    }
+
+    private void run() {
+        List<LogEntry> batch = new ArrayList<>(this.batchSize);
+
+        while (!this.closed || !this.buffer.isEmpty()) {
+            try {
+                LogEntry first = this.buffer.poll(this.flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // wait for a full batch, or the end of the flush interval
+                long deadline = System.nanoTime() + this.flushInterval.toNanos();
+                while (batch.size() < this.batchSize) {
+                    this.buffer.drainTo(batch, this.batchSize - batch.size());
+
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= this.batchSize || remaining <= 0 || this.closed) {
+                        break;
+                    }
+
+                    LogEntry next = this.buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // drain what is left before stopping
+                this.closed = true;
+                this.buffer.drainTo(batch, this.batchSize - batch.size());
+            }
+
+            this.queued.addAndGet(-batch.size());
+            this.emit(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Emit the lines left in the buffer once the shipper is closed, the flusher may not drain them anymore.
+     */
+    private void drain() {
+        List<LogEntry> batch = new ArrayList<>(this.batchSize);
+        while (this.buffer.drainTo(batch, this.batchSize) > 0) {
+            this.queued.addAndGet(-batch.size());
+            this.emit(batch);
+            batch.clear();
+        }
+    }
+
+    private void emit(List<LogEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.logQueue.emit(batch);
+            this.batchSizeSummary.record(batch.size());
+        } catch (QueueException | RuntimeException e) {
+            log.warn("Unable to emit {} log line(s) to the log queue", batch.size(), e);
+            this.droppedError.increment(batch.size());
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        if (!this.enabled || this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        try {
+            this.flusher.join(Duration.ofSeconds(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // lines added after the last drain of the flusher
+        this.drain();
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * The logging thread waits for some room in the buffer, no log line is lost.
+         */
+        BLOCK,
+        /**
+         * Debug and trace lines are dropped, the logging thread waits for other lines.
+         */
+        DROP_DEBUG,
+        /**
+         * Only one line out of the sample rate is kept, the logging thread waits for kept lines, warnings and errors are always kept.
+         */
+        SAMPLE
+    }
+}
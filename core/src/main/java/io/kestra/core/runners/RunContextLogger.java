@@ -38,9 +38,11 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
     private volatile Logger logger; // must be volatile as it is built lazily via DCL
 
     private QueueInterface<LogEntry> logQueue;
+    private LogShipper logShipper;
     private LogEntry logEntry;
     private Level loglevel;
-    private final List<String> useSecrets = new ArrayList<>();
+    private final Set<String> useSecrets = new LinkedHashSet<>();
+    private volatile SecretRedactor secretRedactor = SecretRedactor.EMPTY;
     private final boolean logToFile;
 
     @Getter
@@ -54,6 +56,10 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
     }
 
     public RunContextLogger(QueueInterface<LogEntry> logQueue, LogEntry logEntry, org.slf4j.event.Level loglevel, boolean logToFile) {
+        this(logQueue, null, logEntry, loglevel, logToFile);
+    }
+
+    public RunContextLogger(QueueInterface<LogEntry> logQueue, @Nullable LogShipper logShipper, LogEntry logEntry, org.slf4j.event.Level loglevel, boolean logToFile) {
         if (logEntry.getTaskId() != null) {
             this.loggerName = "flow." + logEntry.getFlowId() + "." + logEntry.getTaskId();
         } else if (logEntry.getTriggerId() != null) {
@@ -63,6 +69,7 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
         }
 
         this.logQueue = logQueue;
+        this.logShipper = logShipper != null && logShipper.isEnabled() ? logShipper : null;
         this.logEntry = logEntry;
         this.loglevel = loglevel == null ? Level.TRACE : Level.toLevel(loglevel.toString());
         this.logToFile = logToFile;
@@ -145,8 +152,15 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
 
     public void usedSecret(String secret) {
         if (secret != null && !secret.isEmpty()) {
-            this.useSecrets.add(secret);
-            this.useSecrets.add(Base64.getEncoder().encodeToString(secret.getBytes(StandardCharsets.UTF_8)));
+            synchronized (this.useSecrets) {
+                boolean added = this.useSecrets.add(secret);
+                added |= this.useSecrets.add(Base64.getEncoder().encodeToString(secret.getBytes(StandardCharsets.UTF_8)));
+
+                // secrets are rarely added, so the matcher is compiled once here instead of on each log line
+                if (added) {
+                    this.secretRedactor = SecretRedactor.of(this.useSecrets);
+                }
+            }
         }
     }
 
@@ -177,7 +191,7 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
 
         // unit tests don't always have the log queue as we construct a logger directly without it
         if (this.logQueue != null && !this.logToFile) {
-            ContextAppender contextAppender = new ContextAppender(this, newLogger, this.logQueue, this.logEntry);
+            ContextAppender contextAppender = new ContextAppender(this, newLogger, this.logQueue, this.logShipper, this.logEntry);
             contextAppender.setContext(loggerContext);
             contextAppender.start();
 
@@ -235,49 +249,42 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
         }
 
         private String replaceSecret(String data) {
-            for (String s : runContextLogger.useSecrets) {
-                if (data.contains(s)) {
-                    data = data.replace(s, "******");
-                }
-            }
-
-            return data;
+            return runContextLogger.secretRedactor.redact(data);
         }
 
-        private Object recursive(@Nullable Object object) {
+        private Object recursive(@Nullable Object object, SecretRedactor secretRedactor) {
             if (object instanceof Map<?, ?> value) {
-                return value
-                    .entrySet()
-                    .stream()
-                    .map(e -> new AbstractMap.SimpleEntry<>(
-                        recursive(e.getKey()),
-                        recursive(e.getValue())
-                    ))
-                    .collect(HashMap::new, (m, v) -> m.put(v.getKey(), v.getValue()), HashMap::putAll);
+                Map<Object, Object> result = new HashMap<>(value.size());
+                for (Map.Entry<?, ?> entry : value.entrySet()) {
+                    result.put(recursive(entry.getKey(), secretRedactor), recursive(entry.getValue(), secretRedactor));
+                }
+                return result;
             } else if (object instanceof Collection<?> value) {
-                return value
-                    .stream()
-                    .map(this::recursive)
-                    .toList();
+                List<Object> result = new ArrayList<>(value.size());
+                for (Object item : value) {
+                    result.add(recursive(item, secretRedactor));
+                }
+                return result;
             } else if (object instanceof String string) {
-                return replaceSecret(string);
+                return secretRedactor.redact(string);
             } else if (object == null) {
                 return null;
             } else {
                 // toString will be called anyway at some point so better to all it now
-                return replaceSecret(object.toString());
+                return secretRedactor.redact(object.toString());
             }
         }
 
         private Object[] replaceSecret(Object[] data) {
-            if (data == null) {
+            SecretRedactor secretRedactor = runContextLogger.secretRedactor;
+            if (data == null || secretRedactor.isEmpty()) {
                 return data;
             }
 
             Object[] result = new Object[data.length];
 
             for (int i = 0; i < data.length; i++) {
-                result[i] = recursive(data[i]);
+                result[i] = recursive(data[i], secretRedactor);
             }
 
             return result;
@@ -320,11 +327,17 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
     @Slf4j
     public static class ContextAppender extends BaseAppender {
         private final QueueInterface<LogEntry> logQueue;
+        private final LogShipper logShipper;
         private final LogEntry logEntry;
 
         public ContextAppender(RunContextLogger runContextLogger, Logger logger, QueueInterface<LogEntry> logQueue, LogEntry logEntry) {
+            this(runContextLogger, logger, logQueue, null, logEntry);
+        }
+
+        public ContextAppender(RunContextLogger runContextLogger, Logger logger, QueueInterface<LogEntry> logQueue, @Nullable LogShipper logShipper, LogEntry logEntry) {
             super(runContextLogger, logger);
             this.logQueue = logQueue;
+            this.logShipper = logShipper;
             this.logEntry = logEntry;
         }
 
@@ -332,6 +345,11 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
         protected void append(ILoggingEvent e) {
             e = this.transform(e);
 
+            if (logShipper != null) {
+                logShipper.offer(logEntries(e, logEntry));
+                return;
+            }
+
             try {
                 logQueue.emitAsync(logEntries(e, logEntry));
             } catch (QueueException ex) {
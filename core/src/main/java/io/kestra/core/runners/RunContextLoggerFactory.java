@@ -24,6 +24,9 @@ public class RunContextLoggerFactory {
     @Named(QueueFactoryInterface.WORKERTASKLOG_NAMED)
     private QueueInterface<LogEntry> logQueue;
 
+    @Inject
+    private LogShipper logShipper;
+
     public RunContextLogger create(WorkerTask workerTask) {
         return create(workerTask.getTaskRun(), workerTask.getTask(), workerTask.getExecutionKind());
     }
@@ -31,6 +34,7 @@ public class RunContextLoggerFactory {
     public RunContextLogger create(TaskRun taskRun, Task task, ExecutionKind executionKind) {
         return new RunContextLogger(
             logQueue,
+            logShipper,
             LogEntry.of(taskRun, executionKind),
             task.getLogLevel(),
             task.isLogToFile()
@@ -40,6 +44,7 @@ public class RunContextLoggerFactory {
     public RunContextLogger create(Execution execution) {
         return new RunContextLogger(
             logQueue,
+            logShipper,
             LogEntry.of(execution),
             null,
             false
@@ -49,6 +54,7 @@ public class RunContextLoggerFactory {
     public RunContextLogger create(TriggerContext triggerContext, AbstractTrigger trigger, ExecutionKind executionKind) {
         return new RunContextLogger(
             logQueue,
+            logShipper,
             LogEntry.of(triggerContext, trigger, executionKind),
             trigger.getLogLevel(),
             trigger.isLogToFile()
@@ -58,6 +64,7 @@ public class RunContextLoggerFactory {
     public RunContextLogger create(Flow flow, AbstractTrigger trigger, ExecutionKind executionKind) {
         return new RunContextLogger(
             logQueue,
+            logShipper,
             LogEntry.of(flow, trigger, executionKind),
             trigger.getLogLevel(),
             trigger.isLogToFile()
@@ -0,0 +1,205 @@
+package io.kestra.core.runners;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Replace every occurrence of a set of secrets in a text by {@link #MASK}, in a single pass whatever the number of secrets.<p>
+ * The secrets are compiled into an Aho-Corasick automaton: the text is scanned once, following the failure links on mismatch,
+ * so the cost is linear in the length of the text. When no secret is found, the text is returned as is and nothing is allocated.
+ * Overlapping occurrences of different secrets are masked together.<p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class SecretRedactor {
+    public static final String MASK = "******";
+
+    public static final SecretRedactor EMPTY = new SecretRedactor(List.of());
+
+    private static final int ASCII = 128;
+
+    // children of each node, keys are sorted for binary search
+    private final char[][] keys;
+    private final int[][] children;
+    private final int[] fail;
+    // length of the longest secret ending at each node, 0 if none
+    private final int[] output;
+    // children of the root for ASCII chars, the most frequent lookup
+    private final int[] rootAscii;
+
+    private SecretRedactor(Collection<String> secrets) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        List<Boolean> terminals = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        depths.add(0);
+        terminals.add(false);
+
+        for (String secret : secrets) {
+            if (secret == null || secret.isEmpty()) {
+                continue;
+            }
+
+            int node = 0;
+            for (int i = 0; i < secret.length(); i++) {
+                Integer next = trie.get(node).get(secret.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    depths.add(i + 1);
+                    terminals.add(false);
+                    trie.get(node).put(secret.charAt(i), next);
+                }
+                node = next;
+            }
+            terminals.set(node, true);
+        }
+
+        int size = trie.size();
+        this.keys = new char[size][];
+        this.children = new int[size][];
+        for (int node = 0; node < size; node++) {
+            Map<Character, Integer> edges = trie.get(node);
+            this.keys[node] = new char[edges.size()];
+            this.children[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                this.keys[node][i] = edge.getKey();
+                this.children[node][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        this.rootAscii = new int[ASCII];
+        Arrays.fill(this.rootAscii, -1);
+        for (int i = 0; i < this.keys[0].length; i++) {
+            if (this.keys[0][i] < ASCII) {
+                this.rootAscii[this.keys[0][i]] = this.children[0][i];
+            }
+        }
+
+        // failure links and outputs, breadth first so the failure of a node is always computed before its children
+        this.fail = new int[size];
+        this.output = new int[size];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : this.children[0]) {
+            this.output[child] = terminals.get(child) ? depths.get(child) : 0;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < this.keys[node].length; i++) {
+                char c = this.keys[node][i];
+                int child = this.children[node][i];
+
+                int failure = this.fail[node];
+                int next;
+                while ((next = this.child(failure, c)) < 0 && failure != 0) {
+                    failure = this.fail[failure];
+                }
+                this.fail[child] = next < 0 ? 0 : next;
+
+                // a secret ending at this node is always the longest one ending here
+                this.output[child] = terminals.get(child) ? depths.get(child) : this.output[this.fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Compile a redactor for the given secrets, null and empty secrets are ignored.
+     */
+    public static SecretRedactor of(Collection<String> secrets) {
+        return new SecretRedactor(secrets);
+    }
+
+    public boolean isEmpty() {
+        return this.keys[0].length == 0;
+    }
+
+    /**
+     * @return the text with every secret replaced by {@link #MASK}, or the same instance if no secret was found.
+     */
+    public String redact(String text) {
+        if (text == null || this.isEmpty()) {
+            return text;
+        }
+
+        // each match is packed as start << 32 | end, only allocated on the first match
+        long[] matches = null;
+        int count = 0;
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            int next;
+            while ((next = this.child(state, c)) < 0 && state != 0) {
+                state = this.fail[state];
+            }
+            state = next < 0 ? 0 : next;
+
+            int length = this.output[state];
+            if (length > 0) {
+                if (matches == null) {
+                    matches = new long[8];
+                } else if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = ((long) (i - length + 1) << 32) | i;
+            }
+        }
+
+        if (matches == null) {
+            return text;
+        }
+
+        // a match found later can start before a previous one, sort them by start to merge the overlapping ones
+        Arrays.sort(matches, 0, count);
+
+        StringBuilder result = new StringBuilder(text.length());
+        int copied = 0;
+        int maskEnd = -1;
+        for (int i = 0; i < count; i++) {
+            int start = (int) (matches[i] >>> 32);
+            int end = (int) matches[i];
+
+            if (start > maskEnd) {
+                result.append(text, copied, start).append(MASK);
+                maskEnd = end;
+                copied = end + 1;
+            } else if (end > maskEnd) {
+                maskEnd = end;
+                copied = end + 1;
+            }
+        }
+        result.append(text, copied, text.length());
+
+        return result.toString();
+    }
+
+    private int child(int node, char c) {
+        if (node == 0 && c < ASCII) {
+            return this.rootAscii[c];
+        }
+
+        char[] nodeKeys = this.keys[node];
+        if (nodeKeys.length <= 4) {
+            for (int i = 0; i < nodeKeys.length; i++) {
+                if (nodeKeys[i] == c) {
+                    return this.children[node][i];
+                }
+            }
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(nodeKeys, c);
+        return index < 0 ? -1 : this.children[node][index];
+    }
+}
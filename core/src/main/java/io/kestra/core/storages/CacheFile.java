@@ -0,0 +1,13 @@
+package io.kestra.core.storages;
+
+import java.io.InputStream;
+import java.time.Instant;
+
+/**
+ * A cache file of the Kestra's storage.
+ *
+ * @param content          The content of the cache file.
+ * @param lastModifiedTime The time the cache file was written.
+ */
+public record CacheFile(InputStream content, Instant lastModifiedTime) {
+}
@@ -12,6 +12,7 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -195,31 +196,50 @@ public class InternalStorage implements Storage {
     public Optional<InputStream> getCacheFile(final String cacheId,
                                               final @Nullable String objectId,
                                               final @Nullable Duration ttl) throws IOException {
-        if (ttl != null) {
-            var maybeLastModifiedTime = getCacheFileLastModifiedTime(cacheId, objectId);
-            if (maybeLastModifiedTime.isPresent()) {
-                if (Instant.now().isAfter(Instant.ofEpochMilli(maybeLastModifiedTime.get()).plus(ttl))) {
-                    logger.debug("Cache is expired for cache-id={}, object-id={}, and ttl={}, deleting it",
-                        cacheId,
-                        objectId,
-                        ttl.toMillis()
-                    );
-                    deleteCacheFile(cacheId, objectId);
-                    return Optional.empty();
-                }
-            }
+        if (ttl == null) {
+            // the attributes are only needed to check the TTL, a missing file is a cache miss
+            return getIfExists(context.getCacheURI(cacheId, objectId));
         }
-        URI uri = context.getCacheURI(cacheId, objectId);
-        return isFileExist(uri) ?
-            Optional.of(storage.get(context.getTenantId(), context.getNamespace(), uri)) :
-            Optional.empty();
+
+        return getCacheFileWithAttributes(cacheId, objectId, ttl).map(CacheFile::content);
     }
 
-    private Optional<Long> getCacheFileLastModifiedTime(String cacheId, @Nullable String objectId) throws IOException {
+    /**
+     * {@inheritDoc}
+     **/
+    @Override
+    public Optional<CacheFile> getCacheFileWithAttributes(final String cacheId,
+                                                          final @Nullable String objectId,
+                                                          final @Nullable Duration ttl) throws IOException {
         URI uri = context.getCacheURI(cacheId, objectId);
-        return isFileExist(uri) ?
-            Optional.of(this.storage.getAttributes(context.getTenantId(), context.getNamespace(), uri).getLastModifiedTime()) :
-            Optional.empty();
+
+        final FileAttributes attributes;
+        try {
+            attributes = this.storage.getAttributes(context.getTenantId(), context.getNamespace(), uri);
+        } catch (FileNotFoundException e) {
+            return Optional.empty();
+        }
+
+        Instant lastModifiedTime = Instant.ofEpochMilli(attributes.getLastModifiedTime());
+        if (ttl != null && Instant.now().isAfter(lastModifiedTime.plus(ttl))) {
+            logger.debug("Cache is expired for cache-id={}, object-id={}, and ttl={}, deleting it",
+                cacheId,
+                objectId,
+                ttl.toMillis()
+            );
+            this.storage.delete(context.getTenantId(), context.getNamespace(), uri);
+            return Optional.empty();
+        }
+
+        return getIfExists(uri).map(content -> new CacheFile(content, lastModifiedTime));
+    }
+
+    private Optional<InputStream> getIfExists(URI uri) throws IOException {
+        try {
+            return Optional.of(this.storage.get(context.getTenantId(), context.getNamespace(), uri));
+        } catch (FileNotFoundException e) {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -0,0 +1,166 @@
+package io.kestra.core.storages;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.utils.IdUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.convert.format.ReadableBytesTypeConverter;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.kestra.core.utils.Rethrow.throwFunction;
+
+/**
+ * A local disk cache of the namespace files, so files that didn't change are not downloaded again from the internal storage on each task run.<p>
+ * Files are keyed by their URI and their version (last modified time and size), so a new version of a file is a new entry
+ * and the previous one is evicted, least recently used first, once the cache exceeds its maximum size.
+ * Cached files are copied to the working directory and not linked, as tasks are free to modify their namespace files.
+ */
+@Slf4j
+@Singleton
+public class NamespaceFileCache {
+    private final StorageInterface storageInterface;
+    private final boolean enabled;
+
+    private Path directory;
+    private Cache<Key, Entry> files;
+
+    private Counter hitCount;
+    private Counter missCount;
+    private Counter bytesSaved;
+
+    @Inject
+    public NamespaceFileCache(
+        StorageInterface storageInterface,
+        MetricRegistry metricRegistry,
+        @Value("${kestra.tasks.namespace-files.cache.enabled:false}") boolean enabled,
+        @Value("${kestra.tasks.namespace-files.cache.path:}") String path,
+        @Value("${kestra.tasks.namespace-files.cache.max-size:1GB}") String maxSize
+    ) throws IOException {
+        this.storageInterface = storageInterface;
+        this.enabled = enabled;
+
+        if (!enabled) {
+            return;
+        }
+
+        long maxBytes = new ReadableBytesTypeConverter().convert(maxSize, Number.class)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid namespace files cache max size with value '" + maxSize + "'"))
+            .longValue();
+
+        // each instance has its own directory, as the index of the cache is in memory
+        Path parent = Path.of(StringUtils.isEmpty(path) ? System.getProperty("java.io.tmpdir") : path);
+        Files.createDirectories(parent);
+        this.directory = Files.createTempDirectory(parent, "namespace-files-cache-");
+
+        this.files = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, Entry>weigher((key, entry) -> (int) Math.min(entry.size(), Integer.MAX_VALUE))
+            .removalListener((key, entry, cause) -> {
+                if (entry != null && cause != RemovalCause.REPLACED) {
+                    this.deleteQuietly(entry.file());
+                }
+            })
+            .build();
+
+        this.hitCount = metricRegistry.counter(MetricRegistry.METRIC_WORKER_NAMESPACE_FILES_CACHE_HIT_COUNT, MetricRegistry.METRIC_WORKER_NAMESPACE_FILES_CACHE_HIT_COUNT_DESCRIPTION);
+        this.missCount = metricRegistry.counter(MetricRegistry.METRIC_WORKER_NAMESPACE_FILES_CACHE_MISS_COUNT, MetricRegistry.METRIC_WORKER_NAMESPACE_FILES_CACHE_MISS_COUNT_DESCRIPTION);
+        this.bytesSaved = metricRegistry.counter(MetricRegistry.METRIC_WORKER_NAMESPACE_FILES_CACHE_BYTES_SAVED, MetricRegistry.METRIC_WORKER_NAMESPACE_FILES_CACHE_BYTES_SAVED_DESCRIPTION);
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Get the content of a namespace file, from the cache if its current version is cached, else from the internal storage.
+     *
+     * @return the content of the file, and whether it was served from the cache.
+     */
+    public Result get(String tenantId, String namespace, URI uri) throws IOException {
+        if (!this.enabled) {
+            return new Result(this.storageInterface.get(tenantId, namespace, uri), false);
+        }
+
+        // only the attributes are fetched to know if the cached version is still the current one
+        FileAttributes attributes = this.storageInterface.getAttributes(tenantId, namespace, uri);
+        Key key = new Key(tenantId, uri, attributes.getLastModifiedTime(), attributes.getSize());
+
+        // concurrent loads of the same file wait for a single download
+        AtomicBoolean downloaded = new AtomicBoolean(false);
+        Entry entry = this.files.get(key, throwFunction(k -> {
+            downloaded.set(true);
+            return this.download(tenantId, namespace, uri);
+        }));
+
+        try {
+            InputStream content = Files.newInputStream(entry.file());
+
+            if (downloaded.get()) {
+                this.missCount.increment();
+            } else {
+                this.hitCount.increment();
+                this.bytesSaved.increment(entry.size());
+            }
+
+            return new Result(content, !downloaded.get());
+        } catch (NoSuchFileException e) {
+            // evicted in the meantime
+            this.missCount.increment();
+            return new Result(this.storageInterface.get(tenantId, namespace, uri), false);
+        }
+    }
+
+    private Entry download(String tenantId, String namespace, URI uri) throws IOException {
+        Path file = this.directory.resolve(IdUtils.create());
+
+        try (InputStream content = this.storageInterface.get(tenantId, namespace, uri)) {
+            Files.copy(content, file);
+        } catch (IOException e) {
+            this.deleteQuietly(file);
+            throw e;
+        }
+
+        return new Entry(file, Files.size(file));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete the cached namespace file '{}'", file, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (this.enabled) {
+            this.files.invalidateAll();
+            FileUtils.deleteQuietly(this.directory.toFile());
+        }
+    }
+
+    public record Result(InputStream content, boolean cached) {
+    }
+
+    private record Key(String tenantId, URI uri, long lastModifiedTime, long size) {
+    }
+
+    private record Entry(Path file, long size) {
+    }
+}
@@ -136,6 +136,18 @@ public interface Storage {
      */
     Optional<InputStream> getCacheFile(String cacheId, @Nullable String objectId, @Nullable Duration ttl) throws IOException;
 
+    /**
+     * Gets the cache file from the Kestra's storage for the given cacheID and objectID, along with the time it was written.
+     * If the cache file didn't exist or has expired based on the given TTL, an empty Optional is returned.
+     *
+     * @param cacheId  the ID of the cache.
+     * @param objectId the ID object cached object (optional).
+     * @param ttl      the time-to-live duration of the cache.
+     * @return an Optional with the cache file or empty.
+     * @throws IOException if an error occurs during the operation.
+     */
+    Optional<CacheFile> getCacheFileWithAttributes(String cacheId, @Nullable String objectId, @Nullable Duration ttl) throws IOException;
+
     /**
      * Caches the given file into Kestra's storage with the given cache ID.
      *
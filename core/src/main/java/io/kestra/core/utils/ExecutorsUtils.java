@@ -47,6 +47,18 @@ public class ExecutorsUtils {
         );
     }
 
+    /**
+     * An executor starting a new virtual thread for each task, the number of concurrent tasks is not bounded.
+     */
+    public ExecutorService virtualThreadPerTaskExecutor(String name) {
+        return this.wrap(
+            name,
+            Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(name + "_", 0).factory()
+            )
+        );
+    }
+
     public ExecutorService singleThreadExecutor(String name) {
         return this.wrap(
             name,
@@ -6,6 +6,7 @@ import io.kestra.core.models.tasks.FileExistComportment;
 import io.kestra.core.models.tasks.NamespaceFiles;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.storages.NamespaceFile;
+import io.kestra.core.storages.NamespaceFileCache;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -23,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.kestra.core.utils.Rethrow.throwConsumer;
 
@@ -31,6 +33,9 @@ public class NamespaceFilesUtils {
     @Inject
     private ExecutorsUtils executorsUtils;
 
+    @Inject
+    private NamespaceFileCache namespaceFileCache;
+
     private ExecutorService executorService;
 
     @PostConstruct
@@ -63,9 +68,19 @@ public class NamespaceFilesUtils {
           matchedNamespaceFiles.addAll(files);
         }
 
+        AtomicInteger cached = new AtomicInteger();
         Flux.fromIterable(matchedNamespaceFiles)
             .doOnNext(throwConsumer(nsFile -> {
-                InputStream content = runContext.storage().getFile(nsFile.uri());
+                InputStream content;
+                if (namespaceFileCache.isEnabled()) {
+                    NamespaceFileCache.Result result = namespaceFileCache.get(runContext.flowInfo().tenantId(), runContext.flowInfo().namespace(), nsFile.uri());
+                    if (result.cached()) {
+                        cached.incrementAndGet();
+                    }
+                    content = result.content();
+                } else {
+                    content = runContext.storage().getFile(nsFile.uri());
+                }
                 Path path = folderPerNamespace ?
                     Path.of(nsFile.namespace() + "/" + nsFile.path()) :
                     Path.of(nsFile.path());
@@ -78,6 +93,9 @@ public class NamespaceFilesUtils {
 
         runContext.metric(Counter.of("namespacefiles.count", matchedNamespaceFiles.size()));
         runContext.metric(Timer.of("namespacefiles.duration", duration));
+        if (namespaceFileCache.isEnabled()) {
+            runContext.metric(Counter.of("namespacefiles.cached.count", cached.get()));
+        }
 
         runContext.logger().info("Loaded {} namespace files from '{}' in {}",
             matchedNamespaceFiles.size(),
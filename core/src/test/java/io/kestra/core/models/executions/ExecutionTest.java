@@ -1,16 +1,19 @@
 package io.kestra.core.models.executions;
 
+import io.kestra.core.exceptions.InternalException;
 import io.kestra.core.models.Label;
 import io.kestra.core.utils.IdUtils;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import io.kestra.core.models.flows.State;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ExecutionTest {
 
@@ -222,4 +225,42 @@ class ExecutionTest {
         );
         assertThat(executionNew.getLabels()).containsExactly(new Label("test", "value2"));
     }
+
+    @Test
+    void taskRunLookups() throws InternalException {
+        TaskRun parent = TaskRun.builder().id("parent").taskId("each").state(new State()).build();
+        TaskRun first = TaskRun.builder().id("first").taskId("child").parentTaskRunId("parent").value("a").state(new State()).build();
+        TaskRun second = TaskRun.builder().id("second").taskId("child").parentTaskRunId("parent").value("b").state(new State()).build();
+        TaskRun nested = TaskRun.builder().id("nested").taskId("leaf").parentTaskRunId("second").state(new State()).build();
+
+        Execution execution = Execution.builder()
+            .id(IdUtils.create())
+            .state(new State())
+            .taskRunList(List.of(parent, first, second, nested))
+            .build();
+
+        assertThat(execution.findTaskRunByTaskRunId("second")).isEqualTo(second);
+        assertThat(execution.findTaskRunsByTaskId("child")).containsExactly(first, second);
+        assertThat(execution.findTaskRunByTaskIdAndValue("child", List.of("b"))).isEqualTo(second);
+        assertThat(execution.findChildren(parent)).containsExactly(first, second);
+        assertThat(execution.findParents(nested)).containsExactly(parent, second);
+        assertThat(execution.findParentsValues(nested, true)).containsExactly("b");
+        assertThatThrownBy(() -> execution.findTaskRunByTaskRunId("unknown")).isInstanceOf(InternalException.class);
+
+        // the index is carried to copies and must still resolve the replaced task run
+        TaskRun secondRunning = second.withState(State.Type.RUNNING);
+        Execution updated = execution.withTaskRun(secondRunning).withState(State.Type.RUNNING);
+        assertThat(updated.findTaskRunByTaskRunId("second")).isEqualTo(secondRunning);
+        assertThat(updated.findChildren(parent)).containsExactly(first, secondRunning);
+        assertThat(updated.findParents(nested)).containsExactly(parent, secondRunning);
+        assertThat(execution.findTaskRunByTaskRunId("second")).isEqualTo(second);
+
+        // a new task run list must not reuse the previous index
+        List<TaskRun> taskRuns = new ArrayList<>(updated.getTaskRunList());
+        TaskRun added = TaskRun.builder().id("third").taskId("child").parentTaskRunId("parent").value("c").state(new State()).build();
+        taskRuns.add(added);
+        Execution appended = updated.withTaskRunList(taskRuns);
+        assertThat(appended.findTaskRunsByTaskId("child")).containsExactly(first, secondRunning, added);
+        assertThat(appended.findTaskRunByTaskIdAndValue("child", List.of("c"))).isEqualTo(added);
+    }
 }
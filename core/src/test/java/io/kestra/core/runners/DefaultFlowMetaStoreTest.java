@@ -0,0 +1,128 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.repositories.FlowRepositoryInterface;
+import io.kestra.core.services.FlowListenersInterface;
+import io.kestra.plugin.core.debug.Return;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@KestraTest
+class DefaultFlowMetaStoreTest {
+    private static final String NAMESPACE = "io.kestra.unittest";
+
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    private FlowRepositoryInterface flowRepository;
+    private TestFlowListeners flowListeners;
+    private DefaultFlowMetaStore flowMetaStore;
+
+    @BeforeEach
+    void setUp() {
+        flowRepository = Mockito.mock(FlowRepositoryInterface.class);
+        flowListeners = new TestFlowListeners(List.of(flow("first", 2), flow("second", 1)));
+        flowMetaStore = new DefaultFlowMetaStore(flowListeners, flowRepository, metricRegistry, 100);
+    }
+
+    @Test
+    void lastVersion() {
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "first", Optional.empty())).hasValueSatisfying(flow -> assertThat(flow.getRevision()).isEqualTo(2));
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "first", Optional.of(2))).hasValueSatisfying(flow -> assertThat(flow.getRevision()).isEqualTo(2));
+        assertThat(flowMetaStore.allLastVersion()).hasSize(2);
+
+        flowListeners.change(flow("first", 3), flow("first", 2));
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "first", Optional.empty())).hasValueSatisfying(flow -> assertThat(flow.getRevision()).isEqualTo(3));
+
+        flowListeners.change(flow("third", 1), null);
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "third", Optional.empty())).isPresent();
+
+        verify(flowRepository, times(0)).findByIdWithSource(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void previousRevision() {
+        when(flowRepository.findByIdWithSource(null, NAMESPACE, "first", Optional.of(1))).thenReturn(Optional.of(flow("first", 1)));
+
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "first", Optional.of(1))).hasValueSatisfying(flow -> assertThat(flow.getRevision()).isEqualTo(1));
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "first", Optional.of(1))).hasValueSatisfying(flow -> assertThat(flow.getRevision()).isEqualTo(1));
+        verify(flowRepository, times(1)).findByIdWithSource(null, NAMESPACE, "first", Optional.of(1));
+
+        // a deleted flow is removed from the index and from the revision cache
+        flowListeners.change(flow("first", 2).toDeleted(), flow("first", 2));
+        when(flowRepository.findByIdWithSource(null, NAMESPACE, "first", Optional.of(1))).thenReturn(Optional.empty());
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "first", Optional.of(1))).isEmpty();
+        assertThat(flowMetaStore.findById(null, NAMESPACE, "first", Optional.empty())).isEmpty();
+    }
+
+    private static FlowWithSource flow(String id, int revision) {
+        FlowWithSource flow = FlowWithSource.builder()
+            .id(id)
+            .namespace(NAMESPACE)
+            .revision(revision)
+            .tasks(Collections.singletonList(Return.builder()
+                .id("test")
+                .type(Return.class.getName())
+                .format(Property.ofValue("test"))
+                .build()))
+            .build();
+        return flow.toBuilder().source(flow.sourceOrGenerateIfNull()).build();
+    }
+
+    private static class TestFlowListeners implements FlowListenersInterface {
+        private final List<FlowWithSource> flows;
+        private final List<Consumer<List<FlowWithSource>>> consumers = new ArrayList<>();
+        private final List<BiConsumer<FlowWithSource, FlowWithSource>> consumersEach = new ArrayList<>();
+
+        TestFlowListeners(List<FlowWithSource> flows) {
+            this.flows = new ArrayList<>(flows);
+        }
+
+        void change(FlowWithSource flow, FlowWithSource previous) {
+            this.flows.removeIf(f -> f.isSameId(flow));
+            if (!flow.isDeleted()) {
+                this.flows.add(flow);
+            }
+
+            this.consumersEach.forEach(consumer -> consumer.accept(flow, previous));
+            this.consumers.forEach(consumer -> consumer.accept(this.flows()));
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public void listen(Consumer<List<FlowWithSource>> consumer) {
+            this.consumers.add(consumer);
+            consumer.accept(this.flows());
+        }
+
+        @Override
+        public void listen(BiConsumer<FlowWithSource, FlowWithSource> consumer) {
+            this.consumersEach.add(consumer);
+        }
+
+        @Override
+        public List<FlowWithSource> flows() {
+            return new ArrayList<>(this.flows);
+        }
+    }
+}
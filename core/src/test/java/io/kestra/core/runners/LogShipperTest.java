@@ -0,0 +1,97 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.utils.Await;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@KestraTest
+class LogShipperTest {
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEmitInBatches() throws Exception {
+        QueueInterface<LogEntry> logQueue = Mockito.mock(QueueInterface.class);
+        List<List<LogEntry>> batches = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> batches.add(new ArrayList<>(invocation.<List<LogEntry>>getArgument(0)))).when(logQueue).emit(anyList());
+
+        try (LogShipper logShipper = new LogShipper(logQueue, metricRegistry, true, 100, 10, Duration.ofMillis(50), LogShipper.OverflowPolicy.BLOCK, 10)) {
+            logShipper.offer(IntStream.range(0, 25).mapToObj(i -> logEntry(Level.INFO, "line " + i)).toList());
+
+            Await.until(() -> batches.stream().mapToInt(List::size).sum() == 25, Duration.ofMillis(10), Duration.ofSeconds(10));
+        }
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(10));
+        assertThat(batches.stream().flatMap(List::stream).map(LogEntry::getMessage).toList())
+            .containsExactlyElementsOf(IntStream.range(0, 25).mapToObj(i -> "line " + i).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDropDebugOnOverflow() throws Exception {
+        QueueInterface<LogEntry> logQueue = Mockito.mock(QueueInterface.class);
+        List<LogEntry> emitted = new CopyOnWriteArrayList<>();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blocked.countDown();
+            release.await();
+            emitted.addAll(invocation.getArgument(0));
+            return null;
+        }).when(logQueue).emit(anyList());
+
+        try (LogShipper logShipper = new LogShipper(logQueue, metricRegistry, true, 2, 1, Duration.ofMillis(10), LogShipper.OverflowPolicy.DROP_DEBUG, 10)) {
+            // the first line blocks the flusher, the next two fill the buffer
+            logShipper.offer(List.of(logEntry(Level.INFO, "first")));
+            blocked.await();
+            logShipper.offer(List.of(logEntry(Level.INFO, "second"), logEntry(Level.INFO, "third")));
+
+            // the buffer is full, debug lines are dropped without waiting
+            logShipper.offer(List.of(logEntry(Level.DEBUG, "dropped")));
+
+            release.countDown();
+            Await.until(() -> emitted.size() == 3, Duration.ofMillis(10), Duration.ofSeconds(10));
+        }
+
+        assertThat(emitted.stream().map(LogEntry::getMessage).toList()).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldBeDisabledByDefault() {
+        QueueInterface<LogEntry> logQueue = Mockito.mock(QueueInterface.class);
+        LogShipper logShipper = new LogShipper(logQueue, metricRegistry, false, 100, 10, Duration.ofMillis(50), LogShipper.OverflowPolicy.BLOCK, 10);
+
+        assertThat(logShipper.isEnabled()).isFalse();
+        logShipper.close();
+    }
+
+    private static LogEntry logEntry(Level level, String message) {
+        return LogEntry.builder()
+            .namespace("io.kestra.unittest")
+            .flowId("flow")
+            .level(level)
+            .message(message)
+            .timestamp(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,41 @@
+package io.kestra.core.runners;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecretRedactorTest {
+    @Test
+    void shouldReturnSameInstanceWithoutMatch() {
+        SecretRedactor secretRedactor = SecretRedactor.of(List.of("password", "token"));
+        String text = "nothing to hide here";
+
+        assertThat(secretRedactor.redact(text)).isSameAs(text);
+        assertThat(SecretRedactor.EMPTY.redact(text)).isSameAs(text);
+        assertThat(secretRedactor.redact(null)).isNull();
+    }
+
+    @Test
+    void shouldRedactAllSecrets() {
+        SecretRedactor secretRedactor = SecretRedactor.of(List.of("pass", "token", "", "secret"));
+
+        assertThat(secretRedactor.redact("pass")).isEqualTo("******");
+        assertThat(secretRedactor.redact("a pass and a token")).isEqualTo("a ****** and a ******");
+        // each adjacent occurrence is masked on its own
+        assertThat(secretRedactor.redact("passpass")).isEqualTo("************");
+        assertThat(secretRedactor.redact("topasstoken!")).isEqualTo("to************!");
+    }
+
+    @Test
+    void shouldRedactOverlappingSecrets() {
+        // the shorter secret is found first, the longer one must still be fully masked
+        SecretRedactor secretRedactor = SecretRedactor.of(List.of("cd", "abcdef", "bcx", "efg"));
+
+        assertThat(secretRedactor.redact("xabcdefx")).isEqualTo("x******x");
+        assertThat(secretRedactor.redact("abcx cd")).isEqualTo("a****** ******");
+        // overlapping occurrences of different secrets are masked together
+        assertThat(secretRedactor.redact("abcdefg")).isEqualTo("******");
+    }
+}
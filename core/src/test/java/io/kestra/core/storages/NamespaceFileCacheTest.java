@@ -0,0 +1,74 @@
+package io.kestra.core.storages;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.utils.IdUtils;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static io.kestra.core.tenant.TenantService.MAIN_TENANT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@KestraTest
+class NamespaceFileCacheTest {
+    @Inject
+    private StorageInterface storageInterface;
+
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldServeCurrentVersionFromCache() throws Exception {
+        String namespaceId = "io.kestra." + IdUtils.create();
+        InternalNamespace namespace = new InternalNamespace(MAIN_TENANT, namespaceId, storageInterface);
+        NamespaceFile file = namespace.putFile(Path.of("/sub/script.py"), new ByteArrayInputStream("print(1)".getBytes(StandardCharsets.UTF_8)));
+
+        NamespaceFileCache cache = new NamespaceFileCache(storageInterface, metricRegistry, true, tempDir.toString(), "1MB");
+        try {
+            NamespaceFileCache.Result first = cache.get(MAIN_TENANT, namespaceId, file.uri());
+            assertThat(first.cached()).isFalse();
+            assertThat(read(first)).isEqualTo("print(1)");
+
+            NamespaceFileCache.Result second = cache.get(MAIN_TENANT, namespaceId, file.uri());
+            assertThat(second.cached()).isTrue();
+            assertThat(read(second)).isEqualTo("print(1)");
+
+            // a new version of the file is downloaded again
+            namespace.putFile(Path.of("/sub/script.py"), new ByteArrayInputStream("print(42)".getBytes(StandardCharsets.UTF_8)), Namespace.Conflicts.OVERWRITE);
+            NamespaceFileCache.Result third = cache.get(MAIN_TENANT, namespaceId, file.uri());
+            assertThat(third.cached()).isFalse();
+            assertThat(read(third)).isEqualTo("print(42)");
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    void shouldUseStorageWhenDisabled() throws Exception {
+        String namespaceId = "io.kestra." + IdUtils.create();
+        InternalNamespace namespace = new InternalNamespace(MAIN_TENANT, namespaceId, storageInterface);
+        NamespaceFile file = namespace.putFile(Path.of("/script.py"), new ByteArrayInputStream("print(1)".getBytes(StandardCharsets.UTF_8)));
+
+        NamespaceFileCache cache = new NamespaceFileCache(storageInterface, metricRegistry, false, null, "1MB");
+        assertThat(cache.isEnabled()).isFalse();
+
+        NamespaceFileCache.Result result = cache.get(MAIN_TENANT, namespaceId, file.uri());
+        assertThat(result.cached()).isFalse();
+        assertThat(read(result)).isEqualTo("print(1)");
+    }
+
+    private static String read(NamespaceFileCache.Result result) throws Exception {
+        try (InputStream content = result.content()) {
+            return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
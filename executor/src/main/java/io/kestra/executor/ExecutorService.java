@@ -21,12 +21,15 @@ import io.kestra.core.test.flow.TaskFixture;
 import io.kestra.core.trace.propagation.RunContextTextMapSetter;
 import io.kestra.core.utils.ListUtils;
 import io.kestra.core.utils.MapUtils;
+import io.kestra.core.utils.Rethrow;
 import io.kestra.core.utils.TruthUtils;
 import io.kestra.plugin.core.flow.LoopUntil;
 import io.kestra.plugin.core.flow.Pause;
 import io.kestra.plugin.core.flow.Subflow;
 import io.kestra.plugin.core.flow.WorkingDirectory;
+import io.micrometer.core.instrument.Timer;
 import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Value;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.ContextPropagators;
@@ -41,6 +44,8 @@ import org.slf4j.event.Level;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -98,6 +103,11 @@ public class ExecutorService {
     @Named(QueueFactoryInterface.WORKERTASKLOG_NAMED)
     private QueueInterface<LogEntry> logQueue;
 
+    @Value("${kestra.executor.phase-metrics.enabled:false}")
+    private boolean phaseMetrics;
+
+    private final Map<String, Timer> phaseTimers = new ConcurrentHashMap<>();
+
     protected FlowMetaStoreInterface flowExecutorInterface() {
         // bean is injected late, so we need to wait
         if (this.flowExecutorInterface == null) {
@@ -158,33 +168,33 @@ public class ExecutorService {
 
         long nanos = System.nanoTime();
         try {
-            executor = this.handleRestart(executor);
-            executor = this.handleEnd(executor);
+            executor = this.phase("restart", executor, this::handleRestart);
+            executor = this.phase("end", executor, this::handleEnd);
             // if killing: move created tasks to killed as they are not already started
-            executor = this.handleCreatedKilling(executor);
+            executor = this.phase("created_killing", executor, this::handleCreatedKilling);
             //then set the execution to killed
-            executor = this.handleKilling(executor);
+            executor = this.phase("killing", executor, this::handleKilling);
 
             // process next task if not killing or killed
             if (executor.getExecution().getState().getCurrent() != State.Type.KILLING && executor.getExecution().getState().getCurrent() != State.Type.KILLED && executor.getExecution().getState().getCurrent() != State.Type.QUEUED) {
-                executor = this.handleNext(executor);
-                executor = this.handleChildNext(executor);
+                executor = this.phase("next", executor, this::handleNext);
+                executor = this.phase("child_next", executor, this::handleChildNext);
             }
 
             // but keep listeners on killing
-            executor = this.handleAfterExecution(executor);
+            executor = this.phase("after_execution", executor, this::handleAfterExecution);
 
             // search for worker task
-            executor = this.handleWorkerTask(executor);
+            executor = this.phase("worker_task", executor, this::handleWorkerTask);
 
             // search for worker task result
-            executor = this.handleChildWorkerTaskResult(executor);
+            executor = this.phase("child_worker_task_result", executor, this::handleChildWorkerTaskResult);
 
             // search for execution updating tasks
-            executor = this.handleExecutionUpdatingTask(executor);
+            executor = this.phase("execution_updating_task", executor, this::handleExecutionUpdatingTask);
 
             // search for flow task
-            executor = this.handleExecutableTask(executor);
+            executor = this.phase("executable_task", executor, this::handleExecutableTask);
         } catch (Exception e) {
             return executor.withException(e, "process");
         } finally {
@@ -196,6 +206,44 @@ public class ExecutorService {
         return executor;
     }
 
+    private Executor phase(String phase, Executor executor, Rethrow.FunctionChecked<Executor, Executor, Exception> handler) throws Exception {
+        if (!this.phaseMetrics) {
+            return handler.apply(executor);
+        }
+
+        long nanos = System.nanoTime();
+        try {
+            return handler.apply(executor);
+        } finally {
+            this.recordPhase(phase, nanos);
+        }
+    }
+
+    /**
+     * Whether the duration of each phase of an execution message is recorded, see {@link #recordPhase(String, long)}.
+     */
+    public boolean isPhaseMetricsEnabled() {
+        return this.phaseMetrics;
+    }
+
+    /**
+     * Record the duration of a phase of an execution message started at the given {@link System#nanoTime()}, if phase metrics are enabled.
+     * Timers are only tagged by phase to keep their number bounded, and are cached to avoid the cost of a registry lookup on each call.
+     */
+    public void recordPhase(String phase, long startNanos) {
+        if (!this.phaseMetrics) {
+            return;
+        }
+
+        this.phaseTimers
+            .computeIfAbsent(phase, k -> metricRegistry.timer(
+                MetricRegistry.METRIC_EXECUTOR_EXECUTION_MESSAGE_PHASE_DURATION,
+                MetricRegistry.METRIC_EXECUTOR_EXECUTION_MESSAGE_PHASE_DURATION_DESCRIPTION,
+                MetricRegistry.TAG_PHASE, k
+            ))
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
     public Execution onNexts(Execution execution, List<TaskRun> nexts) {
         if (log.isTraceEnabled()) {
             logService.logExecution(
@@ -1134,6 +1182,24 @@ public class ExecutorService {
         }
     }
 
+    /**
+     * Add the worker task results received from the workers, in order.
+     * A result is skipped if its task run can no longer be joined to the execution updated by the previous results.
+     *
+     * @return whether at least one worker task result was added.
+     */
+    public boolean addWorkerTaskResults(Executor executor, Supplier<Flow> flow, List<WorkerTaskResult> workerTaskResults) throws InternalException {
+        boolean added = false;
+        for (WorkerTaskResult workerTaskResult : workerTaskResults) {
+            if (executor.getExecution().hasTaskRunJoinable(workerTaskResult.getTaskRun())) {
+                this.addWorkerTaskResult(executor, flow, workerTaskResult);
+                added = true;
+            }
+        }
+
+        return added;
+    }
+
     public void addWorkerTaskResult(Executor executor, Supplier<Flow> flow, WorkerTaskResult workerTaskResult) throws InternalException {
         // dynamic tasks
         Execution newExecution = this.addDynamicTaskRun(
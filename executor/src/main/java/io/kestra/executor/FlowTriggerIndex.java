@@ -0,0 +1,242 @@
+package io.kestra.executor;
+
+import io.kestra.core.models.conditions.Condition;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.FlowWithException;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.multipleflows.MultipleCondition;
+import io.kestra.core.utils.ListUtils;
+import io.kestra.executor.FlowTriggerService.FlowWithFlowTrigger;
+import io.kestra.plugin.core.condition.ExecutionFlow;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.kestra.core.topologies.FlowTopologyService.SIMULATED_EXECUTION;
+
+/**
+ * Index of the flow triggers by the upstream flow they listen to, so only candidate triggers are evaluated when an execution ends.
+ * <p>
+ * A trigger is indexed under the namespace and flow id of its upstream flows,
+ * taken from its <code>preconditions.flows</code> or from static {@link ExecutionFlow} conditions.
+ * Triggers that cannot be narrowed down this way (execution filters, dynamic conditions, no conditions,
+ * or multiple conditions that are not reset on success and so can fire on any execution) are always candidates of their tenant.
+ * <p>
+ * The index is updated incrementally from the flow listeners, reads are lock-free.
+ */
+public class FlowTriggerIndex {
+    private final FlowTriggerService flowTriggerService;
+    private final AtomicBoolean initialized = new AtomicBoolean(false);
+
+    private final Map<String, List<Key>> keysByFlow = new ConcurrentHashMap<>();
+    private final Map<Key, Map<FlowWithFlowTrigger, Candidate>> candidates = new ConcurrentHashMap<>();
+
+    public FlowTriggerIndex(FlowTriggerService flowTriggerService) {
+        this.flowTriggerService = flowTriggerService;
+    }
+
+    /**
+     * Build the index from all the flows, only the first call is taken into account, next changes must go through {@link #upsert(Flow, Flow)}.
+     */
+    public synchronized void initialize(List<? extends Flow> flows) {
+        if (!this.initialized.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.keysByFlow.clear();
+        this.candidates.clear();
+        flows.forEach(this::add);
+    }
+
+    /**
+     * Update the index for a flow that has been created, updated or deleted.
+     */
+    public synchronized void upsert(Flow flow, @Nullable Flow previous) {
+        this.remove(previous != null ? previous : flow);
+
+        if (!flow.isDeleted()) {
+            this.add(flow);
+        }
+    }
+
+    /**
+     * Find the flow triggers that may be triggered by the execution.
+     * Candidates still need to be fully evaluated, the index only discards the triggers that cannot match.
+     */
+    public List<FlowWithFlowTrigger> candidates(Execution execution) {
+        // simulated executions don't have a meaningful state
+        boolean simulated = ListUtils.emptyOnNull(execution.getLabels()).contains(SIMULATED_EXECUTION);
+        State.Type state = execution.getState().getCurrent();
+
+        Set<FlowWithFlowTrigger> result = new LinkedHashSet<>();
+        for (Key key : List.of(
+            Key.any(execution.getTenantId()),
+            new Key(execution.getTenantId(), execution.getNamespace(), null),
+            new Key(execution.getTenantId(), execution.getNamespace(), execution.getFlowId())
+        )) {
+            Map<FlowWithFlowTrigger, Candidate> bucket = this.candidates.get(key);
+            if (bucket == null) {
+                continue;
+            }
+
+            bucket.values().stream()
+                .filter(candidate -> simulated || candidate.states() == null || candidate.states().contains(state))
+                .forEach(candidate -> result.add(candidate.flowWithFlowTrigger()));
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    private void add(Flow flow) {
+        if (flow.isDisabled() || flow instanceof FlowWithException || ListUtils.isEmpty(flow.getTriggers())) {
+            return;
+        }
+
+        List<Key> flowKeys = new ArrayList<>();
+        flowTriggerService.flowTriggers(flow)
+            .map(trigger -> new FlowWithFlowTrigger(flow, trigger))
+            .forEach(flowWithFlowTrigger -> upstreams(flowWithFlowTrigger).forEach((key, states) -> {
+                this.candidates
+                    .computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                    .put(flowWithFlowTrigger, new Candidate(flowWithFlowTrigger, states.orElse(null)));
+                flowKeys.add(key);
+            }));
+
+        if (!flowKeys.isEmpty()) {
+            this.keysByFlow.put(flow.uidWithoutRevision(), flowKeys);
+        }
+    }
+
+    private void remove(Flow flow) {
+        String uid = flow.uidWithoutRevision();
+        List<Key> flowKeys = this.keysByFlow.remove(uid);
+        if (flowKeys == null) {
+            return;
+        }
+
+        flowKeys.forEach(key -> this.candidates.computeIfPresent(key, (k, bucket) -> {
+            bucket.keySet().removeIf(flowWithFlowTrigger -> flowWithFlowTrigger.getFlow().uidWithoutRevision().equals(uid));
+            return bucket.isEmpty() ? null : bucket;
+        }));
+    }
+
+    /**
+     * Compute the keys a trigger is indexed under, with the upstream states it listens to (empty means any state).
+     */
+    private Map<Key, Optional<Set<State.Type>>> upstreams(FlowWithFlowTrigger flowWithFlowTrigger) {
+        String tenantId = flowWithFlowTrigger.getFlow().getTenantId();
+        io.kestra.plugin.core.trigger.Flow trigger = flowWithFlowTrigger.getTrigger();
+        Map<Key, Optional<Set<State.Type>>> any = Map.of(Key.any(tenantId), Optional.empty());
+
+        List<Condition> conditions = ListUtils.emptyOnNull(trigger.getConditions());
+
+        // conditions are all required, a single static execution flow condition restricts the trigger to this flow
+        Optional<Key> restriction = conditions.stream()
+            .filter(ExecutionFlow.class::isInstance)
+            .map(condition -> executionFlowKey(tenantId, (ExecutionFlow) condition))
+            .flatMap(Optional::stream)
+            .findFirst();
+        if (restriction.isPresent()) {
+            return Map.of(restriction.get(), Optional.empty());
+        }
+
+        List<MultipleCondition> multipleConditions = new ArrayList<>();
+        conditions.stream()
+            .filter(MultipleCondition.class::isInstance)
+            .map(MultipleCondition.class::cast)
+            .forEach(multipleConditions::add);
+        if (trigger.getPreconditions() != null) {
+            multipleConditions.add(trigger.getPreconditions());
+        }
+
+        if (multipleConditions.isEmpty()) {
+            return any;
+        }
+
+        // any upstream flow of any multiple condition may move a window forward
+        Map<Key, Optional<Set<State.Type>>> keys = new HashMap<>();
+        for (MultipleCondition multipleCondition : multipleConditions) {
+            // a window that is not reset on success stays valid, so any execution can trigger the flow again
+            if (Boolean.FALSE.equals(multipleCondition.getResetOnSuccess())) {
+                return any;
+            }
+
+            if (multipleCondition instanceof io.kestra.plugin.core.trigger.Flow.Preconditions preconditions) {
+                if (!ListUtils.isEmpty(preconditions.getWhere()) || ListUtils.isEmpty(preconditions.getFlows())) {
+                    return any;
+                }
+
+                for (io.kestra.plugin.core.trigger.Flow.UpstreamFlow upstreamFlow : preconditions.getFlows()) {
+                    if (upstreamFlow.getNamespace() == null) {
+                        return any;
+                    }
+
+                    merge(
+                        keys,
+                        new Key(tenantId, upstreamFlow.getNamespace(), upstreamFlow.getFlowId()),
+                        Optional.ofNullable(upstreamFlow.getStates()).map(Set::copyOf)
+                    );
+                }
+            } else {
+                Map<String, Condition> subConditions = multipleCondition.getConditions();
+                if (subConditions == null || subConditions.isEmpty()) {
+                    return any;
+                }
+
+                for (Condition condition : subConditions.values()) {
+                    Optional<Key> key = condition instanceof ExecutionFlow executionFlow ? executionFlowKey(tenantId, executionFlow) : Optional.empty();
+                    if (key.isEmpty()) {
+                        return any;
+                    }
+
+                    merge(keys, key.get(), Optional.empty());
+                }
+            }
+        }
+
+        return keys;
+    }
+
+    private static void merge(Map<Key, Optional<Set<State.Type>>> keys, Key key, Optional<Set<State.Type>> states) {
+        keys.merge(key, states, (current, added) -> {
+            if (current.isEmpty() || added.isEmpty()) {
+                return Optional.empty();
+            }
+
+            Set<State.Type> union = new HashSet<>(current.get());
+            union.addAll(added.get());
+            return Optional.of(union);
+        });
+    }
+
+    private static Optional<Key> executionFlowKey(String tenantId, ExecutionFlow executionFlow) {
+        return staticValue(executionFlow.getNamespace())
+            .flatMap(namespace -> staticValue(executionFlow.getFlowId()).map(flowId -> new Key(tenantId, namespace, flowId)));
+    }
+
+    private static Optional<String> staticValue(Property<String> property) {
+        if (property == null) {
+            return Optional.empty();
+        }
+
+        String value = property.toString();
+        if (value == null || value.contains("{{") || value.contains("{%")) {
+            return Optional.empty();
+        }
+
+        return Optional.of(value);
+    }
+
+    private record Key(String tenantId, String namespace, String flowId) {
+        static Key any(String tenantId) {
+            return new Key(tenantId, null, null);
+        }
+    }
+
+    private record Candidate(FlowWithFlowTrigger flowWithFlowTrigger, Set<State.Type> states) {
+    }
+}
@@ -0,0 +1,145 @@
+package io.kestra.executor;
+
+import io.kestra.core.context.TestRunContextFactory;
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.Condition;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.services.ConditionService;
+import io.kestra.core.services.FlowService;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.core.condition.ExecutionFlow;
+import io.kestra.plugin.core.log.Log;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.kestra.core.repositories.AbstractFlowRepositoryTest.TEST_NAMESPACE;
+import static io.kestra.core.tenant.TenantService.MAIN_TENANT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@KestraTest
+class FlowTriggerIndexTest {
+    @Inject
+    private TestRunContextFactory runContextFactory;
+    @Inject
+    private ConditionService conditionService;
+    @Inject
+    private FlowService flowService;
+    private FlowTriggerIndex flowTriggerIndex;
+
+    @BeforeEach
+    void setUp() {
+        flowTriggerIndex = new FlowTriggerIndex(new FlowTriggerService(conditionService, runContextFactory, flowService));
+    }
+
+    @Test
+    void candidates() {
+        Flow upstream = aFlow("upstream", List.of());
+        Flow other = aFlow("other", List.of());
+        Flow onUpstreamSuccess = aFlow("on-upstream-success", List.of(flowTrigger(
+            null,
+            preconditions(TEST_NAMESPACE, "upstream", List.of(State.Type.SUCCESS))
+        )));
+        Flow onNamespace = aFlow("on-namespace", List.of(flowTrigger(
+            null,
+            preconditions(TEST_NAMESPACE, null, null)
+        )));
+        Flow onExecutionFlow = aFlow("on-execution-flow", List.of(flowTrigger(
+            List.of(ExecutionFlow.builder()
+                .type(ExecutionFlow.class.getName())
+                .namespace(Property.ofValue(TEST_NAMESPACE))
+                .flowId(Property.ofValue("other"))
+                .build()),
+            null
+        )));
+        Flow onAnything = aFlow("on-anything", List.of(flowTrigger(null, null)));
+
+        flowTriggerIndex.initialize(List.of(upstream, other, onUpstreamSuccess, onNamespace, onExecutionFlow, onAnything));
+
+        assertThat(candidates(Execution.newExecution(upstream, List.of()).withState(State.Type.SUCCESS)))
+            .containsExactlyInAnyOrder("on-upstream-success", "on-namespace", "on-anything");
+        assertThat(candidates(Execution.newExecution(upstream, List.of()).withState(State.Type.FAILED)))
+            .containsExactlyInAnyOrder("on-namespace", "on-anything");
+        assertThat(candidates(Execution.newExecution(other, List.of()).withState(State.Type.SUCCESS)))
+            .containsExactlyInAnyOrder("on-execution-flow", "on-namespace", "on-anything");
+
+        Execution otherTenant = Execution.newExecution(upstream, List.of()).withState(State.Type.SUCCESS).toBuilder().tenantId("other").build();
+        assertThat(candidates(otherTenant)).isEmpty();
+    }
+
+    @Test
+    void upsert() {
+        Flow upstream = aFlow("upstream", List.of());
+        Flow downstream = aFlow("downstream", List.of(flowTrigger(
+            null,
+            preconditions(TEST_NAMESPACE, "upstream", null)
+        )));
+        flowTriggerIndex.initialize(List.of(upstream, downstream));
+
+        Execution execution = Execution.newExecution(upstream, List.of()).withState(State.Type.SUCCESS);
+        assertThat(candidates(execution)).containsExactly("downstream");
+
+        // the trigger now listens to another flow
+        Flow updated = downstream.toBuilder()
+            .revision(2)
+            .triggers(List.of(flowTrigger(null, preconditions(TEST_NAMESPACE, "another", null))))
+            .build();
+        flowTriggerIndex.upsert(updated, downstream);
+        assertThat(candidates(execution)).isEmpty();
+
+        flowTriggerIndex.upsert(downstream, updated);
+        assertThat(candidates(execution)).containsExactly("downstream");
+
+        flowTriggerIndex.upsert(downstream.toDeleted(), downstream);
+        assertThat(candidates(execution)).isEmpty();
+    }
+
+    private List<String> candidates(Execution execution) {
+        return flowTriggerIndex.candidates(execution).stream()
+            .map(flowWithFlowTrigger -> flowWithFlowTrigger.getFlow().getId())
+            .toList();
+    }
+
+    private static Flow aFlow(String id, List<io.kestra.plugin.core.trigger.Flow> triggers) {
+        return Flow.builder()
+            .id(id)
+            .namespace(TEST_NAMESPACE)
+            .tenantId(MAIN_TENANT)
+            .revision(1)
+            .tasks(List.of(Log.builder()
+                .id(IdUtils.create())
+                .type(Log.class.getName())
+                .message("Hello World")
+                .build()
+            ))
+            .triggers(triggers.isEmpty() ? null : List.<AbstractTrigger>copyOf(triggers))
+            .build();
+    }
+
+    private static io.kestra.plugin.core.trigger.Flow flowTrigger(List<Condition> conditions, io.kestra.plugin.core.trigger.Flow.Preconditions preconditions) {
+        return io.kestra.plugin.core.trigger.Flow.builder()
+            .id("flowTrigger")
+            .type(io.kestra.plugin.core.trigger.Flow.class.getName())
+            .conditions(conditions)
+            .preconditions(preconditions)
+            .build();
+    }
+
+    private static io.kestra.plugin.core.trigger.Flow.Preconditions preconditions(String namespace, String flowId, List<State.Type> states) {
+        return io.kestra.plugin.core.trigger.Flow.Preconditions.builder()
+            .id("preconditions")
+            .flows(List.of(io.kestra.plugin.core.trigger.Flow.UpstreamFlow.builder()
+                .namespace(namespace)
+                .flowId(flowId)
+                .states(states)
+                .build()
+            ))
+            .build();
+    }
+}
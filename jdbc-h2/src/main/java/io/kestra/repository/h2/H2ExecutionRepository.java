@@ -55,4 +55,4 @@ public class H2ExecutionRepository extends AbstractJdbcExecutionRepository {
                 throw new IllegalArgumentException("Unsupported GroupType: " + groupType);
         }
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import org.jooq.impl.DSL;
 import org.jooq.impl.SQLDataType;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public class H2Queue<T> extends JdbcQueue<T> {
@@ -22,17 +23,29 @@ public class H2Queue<T> extends JdbcQueue<T> {
     }
 
     @Override
-    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate) {
+    protected Condition buildConsumerCondition(String queueType) {
+        return DSL.or(List.of(
+            AbstractJdbcRepository.field("consumers").isNull(),
+            DSL.condition("NOT(ARRAY_CONTAINS(\"consumers\", ?))", queueType)
+        ));
+    }
+
+    @Override
+    protected boolean supportsConsumerOffsets() {
+        return true;
+    }
+
+    @Override
+    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate, int pollSize, Collection<Integer> inFlight) {
         var select =  ctx.select(
                 AbstractJdbcRepository.field("value"),
-                AbstractJdbcRepository.field("offset")
+                AbstractJdbcRepository.field("value_binary"),
+                AbstractJdbcRepository.field("offset"),
+                AbstractJdbcRepository.field("created")
             )
             .from(this.table)
             .where(AbstractJdbcRepository.field("type").eq(queueType()))
-            .and(DSL.or(List.of(
-                AbstractJdbcRepository.field("consumers").isNull(),
-                DSL.condition("NOT(ARRAY_CONTAINS(\"consumers\", ?))", queueType)
-            )));
+            .and(buildConsumerCondition(queueType));
 
         if (consumerGroup != null) {
             select = select.and(AbstractJdbcRepository.field("consumer_group").eq(consumerGroup));
@@ -40,10 +53,14 @@ public class H2Queue<T> extends JdbcQueue<T> {
             select = select.and(AbstractJdbcRepository.field("consumer_group").isNull());
         }
 
+        if (!inFlight.isEmpty()) {
+            select = select.and(AbstractJdbcRepository.field("offset").notIn(inFlight));
+        }
+
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
-            .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+            .limit(pollSize);
+        ResultQuery<Record4<Object, Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
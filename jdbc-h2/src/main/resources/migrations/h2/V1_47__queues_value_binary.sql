@@ -0,0 +1,2 @@
+ALTER TABLE queues ADD COLUMN IF NOT EXISTS "value_binary" VARBINARY;
+ALTER TABLE queues ALTER COLUMN "value" SET NULL;
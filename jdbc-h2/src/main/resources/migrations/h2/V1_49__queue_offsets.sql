@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS queue_offsets (
+    "type" VARCHAR(250) NOT NULL,
+    "consumer" VARCHAR(250) NOT NULL,
+    "consumer_group" VARCHAR(250) NOT NULL,
+    "offset" BIGINT NOT NULL,
+    "updated" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY ("type", "consumer", "consumer_group")
+);
@@ -0,0 +1 @@
+ALTER TABLE queue_offsets ADD COLUMN IF NOT EXISTS "pending" TEXT;
@@ -0,0 +1,3 @@
+-- Hash of the value computed at write time, existing rows have none until their next write.
+ALTER TABLE executions ADD COLUMN IF NOT EXISTS "value_hash" VARCHAR(64);
+ALTER TABLE executorstate ADD COLUMN IF NOT EXISTS "value_hash" VARCHAR(64);
@@ -0,0 +1,6 @@
+package io.kestra.repository.h2;
+
+import io.kestra.jdbc.repository.AbstractJdbcExecutionCacheTest;
+
+class H2ExecutionCacheTest extends AbstractJdbcExecutionCacheTest {
+}
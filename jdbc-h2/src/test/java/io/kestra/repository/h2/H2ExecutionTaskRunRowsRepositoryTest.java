@@ -0,0 +1,150 @@
+package io.kestra.repository.h2;
+
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.runners.Executor;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import io.kestra.jdbc.repository.AbstractJdbcExecutionRepository;
+import io.kestra.jdbc.repository.AbstractJdbcExecutionRepositoryTest;
+import io.kestra.jdbc.repository.AbstractJdbcRepository;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.kestra.core.utils.Rethrow.throwFunction;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Property(name = "kestra.jdbc.executions.task-run-rows.enabled", value = StringUtils.TRUE)
+public class H2ExecutionTaskRunRowsRepositoryTest extends AbstractJdbcExecutionRepositoryTest {
+    @Inject
+    private JooqDSLContextWrapper dslContextWrapper;
+
+    @Inject
+    @Named(QueueFactoryInterface.EXECUTION_NAMED)
+    private QueueInterface<Execution> executionQueue;
+
+    @Test
+    @Override
+    protected void mappingConflict() {
+
+    }
+
+    @Test
+    void findAllAsyncByPages() {
+        String tenant = TestsUtils.randomTenant(this.getClass().getSimpleName());
+
+        // more than one page of executions, each one completed with its task run
+        List<String> ids = IntStream.range(0, 250)
+            .mapToObj(i -> {
+                String id = IdUtils.create();
+                executionRepository.save(Execution.builder()
+                    .id(id)
+                    .tenantId(tenant)
+                    .namespace(NAMESPACE)
+                    .flowId(FLOW)
+                    .flowRevision(1)
+                    .state(new State())
+                    .taskRunList(List.of(TaskRun.builder()
+                        .id(IdUtils.create())
+                        .tenantId(tenant)
+                        .executionId(id)
+                        .namespace(NAMESPACE)
+                        .flowId(FLOW)
+                        .taskId("task-" + i)
+                        .state(new State())
+                        .build()
+                    ))
+                    .build()
+                );
+                return id;
+            })
+            .toList();
+
+        List<Execution> executions = executionRepository.findAllAsync(tenant).collectList().block();
+
+        assertThat(executions).extracting(Execution::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(executions).allSatisfy(execution -> assertThat(execution.getTaskRunList()).hasSize(1));
+    }
+
+    @Test
+    void emitAfterLockOnlyWritesChangedTaskRuns() throws QueueException {
+        String tenant = TestsUtils.randomTenant(this.getClass().getSimpleName());
+        String id = IdUtils.create();
+        Execution execution = executionRepository.save(Execution.builder()
+            .id(id)
+            .tenantId(tenant)
+            .namespace(NAMESPACE)
+            .flowId(FLOW)
+            .flowRevision(1)
+            .state(new State())
+            .taskRunList(IntStream.range(0, 3).mapToObj(i -> taskRun(tenant, id, "task-" + i)).toList())
+            .build()
+        );
+
+        // the executor updates a task run while holding the lock, then emits the execution it persisted
+        AtomicReference<Execution> locked = new AtomicReference<>();
+        ((AbstractJdbcExecutionRepository) executionRepository).lock(id, throwFunction(pair -> {
+            Execution updated = pair.getLeft().withTaskRun(pair.getLeft().getTaskRunList().getLast().withState(State.Type.RUNNING));
+            locked.set(updated);
+            return Pair.of(new Executor(updated, null), pair.getRight());
+        }));
+        this.resetOrdinals(id);
+        executionQueue.emit(locked.get());
+
+        assertThat(this.upsertedTaskRuns(id)).isZero();
+
+        // without a known previous execution, all task runs are written
+        Execution appended = locked.get().withTaskRunList(Stream.concat(locked.get().getTaskRunList().stream(), Stream.of(taskRun(tenant, id, "task-3"))).toList());
+        this.resetOrdinals(id);
+        executionQueue.emit(appended);
+
+        assertThat(this.upsertedTaskRuns(id)).isEqualTo(4);
+        assertThat(executionRepository.findById(tenant, execution.getId()).orElseThrow().getTaskRunList()).hasSize(4);
+    }
+
+    private void resetOrdinals(String executionId) {
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration)
+            .update(DSL.table("execution_taskruns"))
+            .set(AbstractJdbcRepository.field("ordinal"), -1)
+            .where(AbstractJdbcRepository.field("execution_id").eq(executionId))
+            .execute()
+        );
+    }
+
+    private int upsertedTaskRuns(String executionId) {
+        // each upsert sets back the ordinal of its task run
+        return dslContextWrapper.transactionResult(configuration -> DSL.using(configuration)
+            .fetchCount(
+                DSL.table("execution_taskruns"),
+                AbstractJdbcRepository.field("execution_id").eq(executionId).and(AbstractJdbcRepository.field("ordinal").ne(-1))
+            )
+        );
+    }
+
+    private static TaskRun taskRun(String tenant, String executionId, String taskId) {
+        return TaskRun.builder()
+            .id(IdUtils.create())
+            .tenantId(tenant)
+            .executionId(executionId)
+            .namespace(NAMESPACE)
+            .flowId(FLOW)
+            .taskId(taskId)
+            .state(new State())
+            .build();
+    }
+}
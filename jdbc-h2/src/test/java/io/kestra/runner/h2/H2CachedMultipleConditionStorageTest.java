@@ -0,0 +1,112 @@
+package io.kestra.runner.h2;
+
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.triggers.multipleflows.AbstractMultipleConditionStorageTest;
+import io.kestra.core.models.triggers.multipleflows.MultipleConditionStorageInterface;
+import io.kestra.core.models.triggers.multipleflows.MultipleConditionWindow;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.jdbc.runner.CachedMultipleConditionStorage;
+import io.kestra.repository.h2.H2Repository;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class H2CachedMultipleConditionStorageTest extends AbstractMultipleConditionStorageTest {
+
+    @Inject
+    @Named("multipleconditions")
+    H2Repository<MultipleConditionWindow> repository;
+
+    protected MultipleConditionStorageInterface multipleConditionStorage() {
+        return new CachedMultipleConditionStorage(new H2MultipleConditionStorage(repository), Duration.ofMinutes(1));
+    }
+
+    protected void save(MultipleConditionStorageInterface multipleConditionStorage, Flow flow, List<MultipleConditionWindow> multipleConditionWindows) {
+        multipleConditionStorage.save(multipleConditionWindows);
+    }
+
+    @Test
+    void flush() {
+        H2MultipleConditionStorage databaseStorage = new H2MultipleConditionStorage(repository);
+        String tenant = TestsUtils.randomTenant(this.getClass().getSimpleName());
+        Flow flow = Flow.builder().tenantId(tenant).namespace("io.kestra.unit").id("cached-flow").revision(1).build();
+        MultipleConditionWindow window = MultipleConditionWindow.builder()
+            .tenantId(tenant)
+            .namespace(flow.getNamespace())
+            .flowId(flow.getId())
+            .conditionId("condition")
+            .start(ZonedDateTime.now().minusMinutes(1))
+            .end(ZonedDateTime.now().plusDays(1))
+            .results(new HashMap<>(Map.of("a", true)))
+            .build();
+
+        try (CachedMultipleConditionStorage cachedStorage = new CachedMultipleConditionStorage(databaseStorage, Duration.ofMinutes(1))) {
+            cachedStorage.save(List.of(window));
+
+            // writes are only persisted on flush
+            assertThat(cachedStorage.get(flow, "condition")).isPresent();
+            assertThat(databaseStorage.get(flow, "condition")).isEmpty();
+
+            cachedStorage.flush();
+            assertThat(databaseStorage.get(flow, "condition")).isPresent();
+
+            cachedStorage.delete(window);
+            assertThat(cachedStorage.get(flow, "condition")).isEmpty();
+        }
+
+        // closing flushes the pending writes
+        assertThat(databaseStorage.get(flow, "condition")).isEmpty();
+    }
+
+    @Test
+    void deleteDuringFlush() {
+        AtomicReference<CachedMultipleConditionStorage> cached = new AtomicReference<>();
+        AtomicReference<MultipleConditionWindow> deletedDuringWrite = new AtomicReference<>();
+        H2MultipleConditionStorage databaseStorage = new H2MultipleConditionStorage(repository) {
+            @Override
+            public void write(List<MultipleConditionWindow> toSave, List<MultipleConditionWindow> toDelete) {
+                // the window expires and is deleted while its save is being persisted
+                MultipleConditionWindow window = deletedDuringWrite.getAndSet(null);
+                if (window != null) {
+                    cached.get().delete(window);
+                }
+
+                super.write(toSave, toDelete);
+            }
+        };
+        String tenant = TestsUtils.randomTenant(this.getClass().getSimpleName());
+        Flow flow = Flow.builder().tenantId(tenant).namespace("io.kestra.unit").id("cached-flow").revision(1).build();
+        MultipleConditionWindow window = MultipleConditionWindow.builder()
+            .tenantId(tenant)
+            .namespace(flow.getNamespace())
+            .flowId(flow.getId())
+            .conditionId("condition")
+            .start(ZonedDateTime.now().minusMinutes(1))
+            .end(ZonedDateTime.now().plusDays(1))
+            .results(new HashMap<>(Map.of("a", true)))
+            .build();
+
+        try (CachedMultipleConditionStorage cachedStorage = new CachedMultipleConditionStorage(databaseStorage, Duration.ofMinutes(1))) {
+            cached.set(cachedStorage);
+            cachedStorage.save(List.of(window));
+            deletedDuringWrite.set(window);
+
+            cachedStorage.flush();
+            assertThat(cachedStorage.get(flow, "condition")).isEmpty();
+            assertThat(databaseStorage.get(flow, "condition")).isPresent();
+
+            // the delete is still pending and persisted by the next flush
+            cachedStorage.flush();
+            assertThat(databaseStorage.get(flow, "condition")).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.kestra.runner.h2;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.junit.annotations.LoadFlows;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.runners.TestRunnerUtils;
+import io.kestra.jdbc.JdbcTestUtils;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static io.kestra.core.tenant.TenantService.MAIN_TENANT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each message holds two connections in virtual threads mode, the executor must not exhaust a small pool.
+ */
+@KestraTest(startRunner = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Property(name = "kestra.jdbc.executor.virtual-threads.enabled", value = StringUtils.TRUE)
+@Property(name = "datasources.h2.maximum-pool-size", value = "12")
+@Property(name = "datasources.h2.connection-timeout", value = "5000")
+class H2ExecutorVirtualThreadsTest {
+    @Inject
+    private TestRunnerUtils runnerUtils;
+
+    @Inject
+    private JdbcTestUtils jdbcTestUtils;
+
+    @BeforeAll
+    void init() {
+        jdbcTestUtils.drop();
+        jdbcTestUtils.migrate();
+    }
+
+    @Test
+    @LoadFlows({"flows/valids/each-parallel-nested.yaml"})
+    void shouldNotExhaustSmallPool() {
+        List<CompletableFuture<Execution>> executions = IntStream.range(0, 5)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return runnerUtils.runOne(MAIN_TENANT, "io.kestra.tests", "each-parallel-nested", Duration.ofMinutes(1));
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }))
+            .toList();
+
+        assertThat(executions).allSatisfy(execution -> {
+            assertThat(execution.join().getState().getCurrent()).isEqualTo(State.Type.SUCCESS);
+            assertThat(execution.join().getTaskRunList()).hasSize(11);
+        });
+    }
+}
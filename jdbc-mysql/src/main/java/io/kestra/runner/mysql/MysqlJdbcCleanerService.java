@@ -1,15 +1,121 @@
 package io.kestra.runner.mysql;
 
 import io.kestra.jdbc.repository.AbstractJdbcRepository;
-import io.kestra.jdbc.runner.JdbcCleanerService;
+import io.kestra.jdbc.runner.PartitionedJdbcCleanerService;
+import io.kestra.jdbc.runner.QueuePartition;
 import jakarta.inject.Singleton;
 import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Singleton
 @MysqlQueueEnabled
-public class MysqlJdbcCleanerService implements JdbcCleanerService {
+public class MysqlJdbcCleanerService implements PartitionedJdbcCleanerService {
+    private static final String DEFAULT_PARTITION = "pmax";
+    private static final String DEFAULT_DEFINITION = "PARTITION " + quote(DEFAULT_PARTITION) + " VALUES LESS THAN MAXVALUE";
+
     @Override
     public Condition buildTypeCondition(String type) {
         return AbstractJdbcRepository.field("type").eq(type);
     }
+
+    @Override
+    public boolean isPartitioned(DSLContext context, String table) {
+        return context.fetchExists(
+            DSL.selectOne()
+                .from(DSL.table("information_schema.PARTITIONS"))
+                .where(DSL.field("TABLE_SCHEMA").eq(DSL.field("DATABASE()")))
+                .and(DSL.field("TABLE_NAME").eq(table))
+                .and(DSL.field("PARTITION_NAME").isNotNull())
+        );
+    }
+
+    @Override
+    public void partition(DSLContext context, String table, List<QueuePartition> partitions) {
+        this.withLock(context, table, () -> {
+            if (this.isPartitioned(context, table)) {
+                return;
+            }
+
+            // the partitioning column must be part of the primary key
+            context.execute("ALTER TABLE " + quote(table) + " DROP PRIMARY KEY, ADD PRIMARY KEY (`offset`, `created`)");
+            context.execute("ALTER TABLE " + quote(table) + " PARTITION BY RANGE (UNIX_TIMESTAMP(`created`)) (" +
+                partitions.stream().map(MysqlJdbcCleanerService::definition).collect(Collectors.joining(", ")) +
+                ", " + DEFAULT_DEFINITION +
+                ")"
+            );
+        });
+    }
+
+    @Override
+    public List<QueuePartition> partitions(DSLContext context, String table) {
+        return context
+            .select(DSL.field("PARTITION_NAME", String.class))
+            .from(DSL.table("information_schema.PARTITIONS"))
+            .where(DSL.field("TABLE_SCHEMA").eq(DSL.field("DATABASE()")))
+            .and(DSL.field("TABLE_NAME").eq(table))
+            .and(DSL.field("PARTITION_NAME").isNotNull())
+            .fetch(DSL.field("PARTITION_NAME", String.class))
+            .stream()
+            .map(QueuePartition::parse)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    @Override
+    public void createPartition(DSLContext context, String table, QueuePartition partition) {
+        this.withLock(context, table, () -> {
+            if (this.partitions(context, table).contains(partition)) {
+                return;
+            }
+
+            // partitions can't be added after the MAXVALUE one, so it's split in two, moving its messages of the new range
+            context.execute("ALTER TABLE " + quote(table) + " REORGANIZE PARTITION " + quote(DEFAULT_PARTITION) + " INTO (" +
+                definition(partition) + ", " + DEFAULT_DEFINITION +
+                ")"
+            );
+        });
+    }
+
+    @Override
+    public void dropPartition(DSLContext context, String table, QueuePartition partition) {
+        this.withLock(context, table, () -> {
+            if (!this.partitions(context, table).contains(partition)) {
+                return;
+            }
+
+            context.execute("ALTER TABLE " + quote(table) + " DROP PARTITION " + quote(partition.name()));
+        });
+    }
+
+    @Override
+    public Table<Record> defaultPartition(String table) {
+        return DSL.table("{0} PARTITION ({1})", DSL.name(table), DSL.name(DEFAULT_PARTITION));
+    }
+
+    /**
+     * DDL are not transactional on MySQL, so we use a named lock to avoid concurrent changes of the partitions from multiple instances.
+     */
+    private void withLock(DSLContext context, String table, Runnable runnable) {
+        context.fetchValue("SELECT GET_LOCK(?, -1)", "kestra_" + table + "_partitioning");
+        try {
+            runnable.run();
+        } finally {
+            context.fetchValue("SELECT RELEASE_LOCK(?)", "kestra_" + table + "_partitioning");
+        }
+    }
+
+    private static String definition(QueuePartition partition) {
+        return "PARTITION " + quote(partition.name()) + " VALUES LESS THAN (" + partition.to().getEpochSecond() + ")";
+    }
+
+    private static String quote(String name) {
+        return "`" + name + "`";
+    }
 }
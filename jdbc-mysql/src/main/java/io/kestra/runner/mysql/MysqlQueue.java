@@ -9,6 +9,7 @@ import org.jooq.impl.DSL;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -29,19 +30,31 @@ public class MysqlQueue<T> extends JdbcQueue<T> {
     }
 
     @Override
-    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate) {
+    protected Condition buildConsumerCondition(String queueType) {
+        return DSL.or(List.of(
+            AbstractJdbcRepository.field("consumers").isNull(),
+            AbstractJdbcRepository.field("consumers").in(QUEUE_CONSUMERS.allForConsumerNotIn(queueType))
+        ));
+    }
+
+    @Override
+    protected boolean supportsConsumerOffsets() {
+        return true;
+    }
+
+    @Override
+    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate, int pollSize, Collection<Integer> inFlight) {
         var select = ctx
             .select(
                 AbstractJdbcRepository.field("value"),
-                AbstractJdbcRepository.field("offset")
+                AbstractJdbcRepository.field("value_binary"),
+                AbstractJdbcRepository.field("offset"),
+                AbstractJdbcRepository.field("created")
             )
             // force using the dedicated index, or it made a scan of the PK index
             .from(this.table.useIndex("ix_type__consumers"))
             .where(AbstractJdbcRepository.field("type").eq(queueType()))
-            .and(DSL.or(List.of(
-                AbstractJdbcRepository.field("consumers").isNull(),
-                AbstractJdbcRepository.field("consumers").in(QUEUE_CONSUMERS.allForConsumerNotIn(queueType))
-            )));
+            .and(buildConsumerCondition(queueType));
 
         if (consumerGroup != null) {
             select = select.and(AbstractJdbcRepository.field("consumer_group").eq(consumerGroup));
@@ -49,10 +62,14 @@ public class MysqlQueue<T> extends JdbcQueue<T> {
             select = select.and(AbstractJdbcRepository.field("consumer_group").isNull());
         }
 
+        if (!inFlight.isEmpty()) {
+            select = select.and(AbstractJdbcRepository.field("offset").notIn(inFlight));
+        }
+
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
-            .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+            .limit(pollSize);
+        ResultQuery<Record4<Object, Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
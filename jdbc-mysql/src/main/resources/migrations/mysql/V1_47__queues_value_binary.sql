@@ -0,0 +1,2 @@
+ALTER TABLE queues ADD COLUMN `value_binary` LONGBLOB;
+ALTER TABLE queues MODIFY COLUMN `value` JSON NULL;
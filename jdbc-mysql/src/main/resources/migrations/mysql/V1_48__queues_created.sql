@@ -0,0 +1,4 @@
+-- A CURRENT_TIMESTAMP default can't be added instantly: this rebuilds the queues table, which can take a while on a large one,
+-- and all existing messages get the date of the migration as creation date.
+-- With the partitioned cleaner, they are only dropped once the retention has elapsed after the migration.
+ALTER TABLE queues ADD COLUMN `created` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
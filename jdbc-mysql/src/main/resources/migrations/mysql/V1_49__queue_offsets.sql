@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS queue_offsets (
+    `type` VARCHAR(250) NOT NULL,
+    `consumer` VARCHAR(250) NOT NULL,
+    `consumer_group` VARCHAR(250) NOT NULL,
+    `offset` BIGINT NOT NULL,
+    `updated` TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`type`, `consumer`, `consumer_group`)
+) ENGINE INNODB CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
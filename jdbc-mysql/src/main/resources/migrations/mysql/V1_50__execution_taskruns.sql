@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS execution_taskruns (
+    `execution_id` VARCHAR(150) NOT NULL,
+    `taskrun_id` VARCHAR(150) NOT NULL,
+    `ordinal` INT NOT NULL,
+    `value` JSON NOT NULL,
+    PRIMARY KEY (`execution_id`, `taskrun_id`)
+) ENGINE INNODB CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
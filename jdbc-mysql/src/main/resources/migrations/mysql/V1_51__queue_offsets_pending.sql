@@ -0,0 +1 @@
+ALTER TABLE queue_offsets ADD COLUMN `pending` TEXT NULL;
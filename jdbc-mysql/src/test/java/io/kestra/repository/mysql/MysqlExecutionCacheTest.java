@@ -0,0 +1,6 @@
+package io.kestra.repository.mysql;
+
+import io.kestra.jdbc.repository.AbstractJdbcExecutionCacheTest;
+
+class MysqlExecutionCacheTest extends AbstractJdbcExecutionCacheTest {
+}
@@ -0,0 +1,11 @@
+package io.kestra.runner.mysql;
+
+import io.kestra.jdbc.runner.AbstractJdbcCleanerPartitioningTest;
+import org.jooq.DSLContext;
+
+class MysqlJdbcCleanerPartitioningTest extends AbstractJdbcCleanerPartitioningTest {
+    @Override
+    protected void createTable(DSLContext context, String source, String target) {
+        context.execute("CREATE TABLE `" + target + "` LIKE `" + source + "`");
+    }
+}
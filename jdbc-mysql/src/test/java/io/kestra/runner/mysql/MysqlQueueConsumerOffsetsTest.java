@@ -0,0 +1,7 @@
+package io.kestra.runner.mysql;
+
+import io.kestra.jdbc.runner.JdbcQueueConsumerOffsetsTest;
+
+class MysqlQueueConsumerOffsetsTest extends JdbcQueueConsumerOffsetsTest {
+
+}
@@ -13,6 +13,9 @@ import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.jooq.Condition;
 import org.jooq.Field;
+import org.jooq.JSONB;
+import org.jooq.Record;
+import org.jooq.Table;
 import org.jooq.impl.DSL;
 import org.jooq.impl.SQLDataType;
 
@@ -70,4 +73,15 @@ public class PostgresExecutionRepository extends AbstractJdbcExecutionRepository
                 throw new IllegalArgumentException("Unsupported GroupType: " + groupType);
         }
     }
+
+    @Override
+    protected Object taskRunValue(String json) {
+        return JSONB.valueOf(json);
+    }
+
+    @Override
+    protected Condition taskRunChangedCondition(Table<Record> table) {
+        // avoid writing a new row version for task runs that didn't change
+        return DSL.condition("{0}.value IS DISTINCT FROM EXCLUDED.value", table);
+    }
 }
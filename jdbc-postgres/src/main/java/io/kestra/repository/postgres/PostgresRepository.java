@@ -56,9 +56,9 @@ public class PostgresRepository<T> extends io.kestra.jdbc.AbstractJdbcRepository
     @Override
     public Map<Field<Object>, Object> persistFields(T entity) {
         String json = JdbcMapper.of().writeValueAsString(entity);
-        return new HashMap<>(ImmutableMap
+        return this.withValueHash(new HashMap<>(ImmutableMap
             .of(io.kestra.jdbc.repository.AbstractJdbcRepository.field("value"), DSL.val(JSONB.valueOf(json)))
-        );
+        ), json);
     }
 
     @SneakyThrows
@@ -1,15 +1,116 @@
 package io.kestra.runner.postgres;
 
-import io.kestra.jdbc.runner.JdbcCleanerService;
+import io.kestra.jdbc.runner.PartitionedJdbcCleanerService;
+import io.kestra.jdbc.runner.QueuePartition;
 import jakarta.inject.Singleton;
 import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Table;
 import org.jooq.impl.DSL;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
 @Singleton
 @PostgresQueueEnabled
-public class PostgresJdbcCleanerService implements JdbcCleanerService {
+public class PostgresJdbcCleanerService implements PartitionedJdbcCleanerService {
+    private static final DateTimeFormatter BOUND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss'+00'").withZone(ZoneOffset.UTC);
+    private static final String DEFAULT_PARTITION = "default";
+
     @Override
     public Condition buildTypeCondition(String type) {
         return DSL.condition("type = CAST(? AS queue_type)", type);
     }
+
+    @Override
+    public boolean isPartitioned(DSLContext context, String table) {
+        return context.fetchExists(
+            DSL.selectOne()
+                .from(DSL.table("pg_class"))
+                .where(DSL.field("relname").eq(table))
+                .and(DSL.field("relkind").eq("p"))
+                .and(DSL.condition("relnamespace = to_regnamespace(current_schema())"))
+        );
+    }
+
+    @Override
+    public void partition(DSLContext context, String table, List<QueuePartition> partitions) {
+        // avoid concurrent conversion from multiple instances
+        context.execute("SELECT pg_advisory_xact_lock(hashtext(?))", "kestra_" + table + "_partitioning");
+        if (this.isPartitioned(context, table)) {
+            return;
+        }
+
+        String legacy = table + "_unpartitioned";
+        // definitions are fetched before the table is renamed, so they reference the new table
+        Object sequence = context.fetchValue("SELECT pg_get_serial_sequence(?, 'offset')", table);
+        List<String> indexes = context.fetch("SELECT pg_get_indexdef(indexrelid) FROM pg_index WHERE indrelid = CAST(? AS regclass) AND NOT indisprimary", table)
+            .getValues(0, String.class);
+        List<String> triggers = context.fetch("SELECT pg_get_triggerdef(oid) FROM pg_trigger WHERE tgrelid = CAST(? AS regclass) AND NOT tgisinternal", table)
+            .getValues(0, String.class);
+        List<String> columns = context.fetch("SELECT column_name FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = ? ORDER BY ordinal_position", table)
+            .getValues(0, String.class);
+
+        context.execute("ALTER TABLE " + quote(table) + " RENAME TO " + quote(legacy));
+        context.execute("CREATE TABLE " + quote(table) + " (LIKE " + quote(legacy) + " INCLUDING DEFAULTS) PARTITION BY RANGE (created)");
+        partitions.forEach(partition -> this.createPartition(context, table, partition));
+        context.execute("CREATE TABLE " + quote(table + "_" + DEFAULT_PARTITION) + " PARTITION OF " + quote(table) + " DEFAULT");
+
+        // messages created before the 'created' column was added are stored in the first partition
+        String select = String.join(", ", columns.stream()
+            .map(column -> column.equals("created") ? "COALESCE(created, updated, '-infinity')" : quote(column))
+            .toList()
+        );
+        context.execute("INSERT INTO " + quote(table) + " SELECT " + select + " FROM " + quote(legacy));
+
+        // the offset sequence is owned by the legacy table and would be dropped with it
+        if (sequence != null) {
+            context.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + quote(table) + ".\"offset\"");
+        }
+        context.execute("DROP TABLE " + quote(legacy));
+
+        indexes.forEach(context::execute);
+        triggers.forEach(context::execute);
+    }
+
+    @Override
+    public List<QueuePartition> partitions(DSLContext context, String table) {
+        return context.fetch("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = CAST(? AS regclass)", table)
+            .getValues(0, String.class)
+            .stream()
+            .map(QueuePartition::parse)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    /**
+     * Creating a partition scans the default partition, and fails if it contains messages of the new partition range.
+     */
+    @Override
+    public void createPartition(DSLContext context, String table, QueuePartition partition) {
+        context.execute("CREATE TABLE IF NOT EXISTS " + quote(table + "_" + partition.name()) + " PARTITION OF " + quote(table) +
+            " FOR VALUES FROM (" + bound(partition.from()) + ") TO (" + bound(partition.to()) + ")");
+    }
+
+    @Override
+    public void dropPartition(DSLContext context, String table, QueuePartition partition) {
+        context.execute("DROP TABLE IF EXISTS " + quote(table + "_" + partition.name()));
+    }
+
+    @Override
+    public Table<Record> defaultPartition(String table) {
+        return DSL.table(DSL.quotedName(table + "_" + DEFAULT_PARTITION));
+    }
+
+    private static String bound(Instant instant) {
+        return instant == null ? "MINVALUE" : "'" + BOUND_FORMATTER.format(instant) + "'";
+    }
+
+    private static String quote(String name) {
+        return DSL.quotedName(name).toString();
+    }
 }
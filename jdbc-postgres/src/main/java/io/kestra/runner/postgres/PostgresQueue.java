@@ -6,6 +6,7 @@ import io.kestra.core.queues.QueueException;
 import io.kestra.core.utils.Either;
 import io.kestra.jdbc.repository.AbstractJdbcRepository;
 import io.kestra.jdbc.runner.JdbcQueue;
+import io.kestra.jdbc.runner.JdbcQueueSignal;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.core.annotation.NonNull;
 import org.jooq.*;
@@ -14,6 +15,7 @@ import org.jooq.impl.DSL;
 
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -22,9 +24,14 @@ import static org.jooq.impl.DSL.*;
 public class PostgresQueue<T> extends JdbcQueue<T> {
     private boolean disableSeqScan = false;
 
+    private final PostgresQueueNotifier notifier;
+
     public PostgresQueue(Class<T> cls, ApplicationContext applicationContext) {
         super(cls, applicationContext);
 
+        PostgresQueueNotifier queueNotifier = applicationContext.getBean(PostgresQueueNotifier.class);
+        this.notifier = queueNotifier.isEnabled() ? queueNotifier : null;
+
         var maybeDisableSeScan = applicationContext.getProperty("kestra.queue.postgres.disable-seq-scan", Boolean.class);
         if (maybeDisableSeScan.isPresent() && maybeDisableSeScan.get()) {
             disableSeqScan = true;
@@ -43,24 +50,49 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
         return map;
     }
 
+    @Override
+    protected void notifyConsumers(DSLContext context) {
+        if (notifier != null) {
+            notifier.publish(context, queueType());
+        }
+    }
+
+    @Override
+    protected PollWaiter pollWaiter() {
+        if (notifier == null) {
+            return super.pollWaiter();
+        }
+
+        // consumers are woken up on each produced message, so we can wait for the longest interval as polling is only a fallback
+        JdbcQueueSignal.Waiter waiter = notifier.waiter(queueType());
+        return sleep -> waiter.await(configuration.getMaxPollInterval());
+    }
+
     @Override
     protected Condition buildTypeCondition(String type) {
         return DSL.condition("type = CAST(? AS queue_type)", type);
     }
 
     @Override
-    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate) {
+    protected Condition buildConsumerCondition(String queueType) {
+        return AbstractJdbcRepository.field("consumer_" + queueType, Boolean.class).isFalse();
+    }
+
+    @Override
+    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate, int pollSize, Collection<Integer> inFlight) {
         if (disableSeqScan) {
             ctx.setLocal(name("enable_seqscan"), val("off")).execute();
         }
 
         var select = ctx.select(
                 AbstractJdbcRepository.field("value"),
-                AbstractJdbcRepository.field("offset")
+                AbstractJdbcRepository.field("value_binary"),
+                AbstractJdbcRepository.field("offset"),
+                AbstractJdbcRepository.field("created")
             )
             .from(this.table)
             .where(DSL.condition("type = CAST(? AS queue_type)", queueType()))
-            .and(AbstractJdbcRepository.field("consumer_" + queueType, Boolean.class).isFalse());
+            .and(buildConsumerCondition(queueType));
 
         if (consumerGroup != null) {
             select = select.and(AbstractJdbcRepository.field("consumer_group").eq(consumerGroup));
@@ -68,10 +100,14 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
             select = select.and(AbstractJdbcRepository.field("consumer_group").isNull());
         }
 
+        if (!inFlight.isEmpty()) {
+            select = select.and(AbstractJdbcRepository.field("offset").notIn(inFlight));
+        }
+
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
-            .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+            .limit(pollSize);
+        ResultQuery<Record4<Object, Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
@@ -102,6 +138,11 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
     protected List<Either<T, DeserializationException>> map(Result<Record> fetch) {
         return fetch
             .map(record -> {
+                byte[] binary = record.get("value_binary", byte[].class);
+                if (binary != null) {
+                    return this.mapBinary(binary);
+                }
+
                 try {
                     return Either.left(MAPPER.readValue(record.get("value", JSONB.class).data(), cls));
                 } catch (JsonProcessingException e) {
@@ -0,0 +1,178 @@
+package io.kestra.runner.postgres;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.kestra.jdbc.runner.JdbcQueueSignal;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.jdbc.DataSourceResolver;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wake up queue consumers using Postgres LISTEN/NOTIFY.
+ * <p>
+ * Producers send a notification, with the queue type as payload, inside the transaction that inserts the messages,
+ * so it's only delivered once they are committed. A single notification is sent per queue type and transaction.
+ * A single dedicated connection, opened outside the connection pool, listens to the notifications and wakes up all waiters of the given queue type.
+ * Waiters always have a timeout, so if a notification is lost (e.g. the listener connection is broken), consumers fall back to polling.
+ */
+@Slf4j
+@Singleton
+@PostgresQueueEnabled
+public class PostgresQueueNotifier {
+    static final String CHANNEL = "kestra_queues";
+    private static final String PUBLISHED = PostgresQueueNotifier.class.getName() + ".published";
+
+    private final Map<String, JdbcQueueSignal> signals = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    @Inject
+    private DataSource dataSource;
+
+    @Inject
+    private Optional<DataSourceResolver> dataSourceResolver;
+
+    @Value("${kestra.queue.postgres.listen-notify.enabled:false}")
+    private boolean enabled;
+
+    @Value("${kestra.queue.postgres.listen-notify.reconnect-interval:5s}")
+    private Duration reconnectInterval;
+
+    private Thread listener;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Send a notification for the queue type, must be called inside the produce transaction.
+     * It is only sent once per queue type in a transaction, as consumers poll all the committed messages when woken up.
+     */
+    @SuppressWarnings("unchecked")
+    public void publish(DSLContext context, String queueType) {
+        // the configuration is derived for each transaction, so its data only lives as long as the transaction
+        Set<String> published = (Set<String>) context.configuration().data()
+            .computeIfAbsent(PUBLISHED, k -> ConcurrentHashMap.newKeySet());
+
+        if (published.add(queueType)) {
+            context.execute("SELECT pg_notify(?, ?)", CHANNEL, queueType);
+        }
+    }
+
+    /**
+     * Create a waiter for a single poll loop of the queue type.
+     * Each waiter tracks the last notification it has seen so a notification received while the consumer was polling is never lost.
+     */
+    public JdbcQueueSignal.Waiter waiter(String queueType) {
+        this.start();
+
+        return this.signals.computeIfAbsent(queueType, k -> new JdbcQueueSignal()).waiter();
+    }
+
+    private void start() {
+        if (!this.started.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.listener = Thread.ofPlatform()
+            .name("postgres-queue-notifier")
+            .daemon(true)
+            .start(this::listen);
+    }
+
+    private void listen() {
+        while (!this.closed.get()) {
+            try (Connection connection = this.connect()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                // we may have missed some notifications while (re)connecting
+                this.signals.values().forEach(JdbcQueueSignal::signal);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!this.closed.get()) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) Duration.ofSeconds(1).toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+
+                    for (PGNotification notification : notifications) {
+                        JdbcQueueSignal signal = this.signals.get(notification.getParameter());
+                        if (signal != null) {
+                            signal.signal();
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (this.closed.get()) {
+                    return;
+                }
+
+                log.warn("Unable to listen to queue notifications, consumers fall back to polling, retrying in {}", reconnectInterval, e);
+
+                try {
+                    Thread.sleep(reconnectInterval);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Open the listener connection outside the connection pool, as it's held for the lifetime of the notifier
+     * and the pool size is used to bound the executor concurrency.
+     */
+    private Connection connect() throws SQLException {
+        // use the raw datasource, as the one injected is bound to the current transaction
+        DataSource rawDataSource = dataSourceResolver.orElse(DataSourceResolver.DEFAULT).resolve(dataSource);
+        if (!(rawDataSource instanceof HikariDataSource hikariDataSource)) {
+            return rawDataSource.getConnection();
+        }
+
+        Properties properties = new Properties();
+        properties.putAll(hikariDataSource.getDataSourceProperties());
+        if (hikariDataSource.getUsername() != null) {
+            properties.setProperty("user", hikariDataSource.getUsername());
+        }
+        if (hikariDataSource.getPassword() != null) {
+            properties.setProperty("password", hikariDataSource.getPassword());
+        }
+
+        return DriverManager.getConnection(hikariDataSource.getJdbcUrl(), properties);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (this.listener != null) {
+            this.listener.interrupt();
+        }
+
+        this.signals.values().forEach(JdbcQueueSignal::signal);
+    }
+}
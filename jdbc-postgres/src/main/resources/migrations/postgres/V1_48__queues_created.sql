@@ -0,0 +1,3 @@
+-- The default is set after the column is added to avoid rewriting the table, existing messages have no creation date.
+ALTER TABLE queues ADD COLUMN IF NOT EXISTS created TIMESTAMPTZ;
+ALTER TABLE queues ALTER COLUMN created SET DEFAULT now();
@@ -0,0 +1,2 @@
+-- Consumer offsets are not used by the Postgres queue, which flags consumed messages with its consumer_* columns.
+-- This migration keeps the versions aligned with the other databases.
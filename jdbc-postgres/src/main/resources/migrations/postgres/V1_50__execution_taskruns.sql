@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS execution_taskruns (
+    execution_id VARCHAR(150) NOT NULL,
+    taskrun_id VARCHAR(150) NOT NULL,
+    ordinal INT NOT NULL,
+    value JSONB NOT NULL,
+    PRIMARY KEY (execution_id, taskrun_id)
+);
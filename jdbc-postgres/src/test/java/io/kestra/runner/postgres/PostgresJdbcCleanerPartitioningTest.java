@@ -0,0 +1,12 @@
+package io.kestra.runner.postgres;
+
+import io.kestra.jdbc.runner.AbstractJdbcCleanerPartitioningTest;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+
+class PostgresJdbcCleanerPartitioningTest extends AbstractJdbcCleanerPartitioningTest {
+    @Override
+    protected void createTable(DSLContext context, String source, String target) {
+        context.execute("CREATE TABLE " + DSL.quotedName(target) + " (LIKE " + DSL.quotedName(source) + " INCLUDING DEFAULTS)");
+    }
+}
@@ -2,6 +2,7 @@ package io.kestra.jdbc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
 import io.kestra.core.exceptions.DeserializationException;
 import io.kestra.core.models.executions.metrics.MetricAggregation;
 import io.kestra.core.queues.QueueService;
@@ -19,6 +20,7 @@ import org.jooq.Record;
 import org.jooq.impl.DSL;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.Instant;
@@ -31,6 +33,7 @@ import java.util.stream.IntStream;
 
 public abstract class AbstractJdbcRepository<T> {
     protected static final ObjectMapper MAPPER = JdbcMapper.of();
+    private static final Field<Object> VALUE_HASH_FIELD = io.kestra.jdbc.repository.AbstractJdbcRepository.field("value_hash");
 
     protected final QueueService queueService;
 
@@ -45,6 +48,8 @@ public abstract class AbstractJdbcRepository<T> {
     @Getter
     protected Table<Record> table;
 
+    private boolean hashValues = false;
+
     @SuppressWarnings("unchecked")
     public AbstractJdbcRepository(
         JdbcTableConfig tableConfig,
@@ -68,11 +73,48 @@ public abstract class AbstractJdbcRepository<T> {
         return IdUtils.create();
     }
 
+    /**
+     * Also store a hash of the serialized value in the <code>value_hash</code> column on each write,
+     * so a reader can detect that the stored value changed by comparing this column only.
+     * The table must have this column.
+     */
+    public void hashValues() {
+        this.hashValues = true;
+    }
+
+    /**
+     * Get the hash to be stored by the fields returned by {@link #persistFields(Object)}, or null if values are not hashed.
+     */
+    public static String valueHash(Map<Field<Object>, Object> fields) {
+        return (String) fields.get(VALUE_HASH_FIELD);
+    }
+
+    /**
+     * Fetch the hash of the stored value, see {@link #hashValues()}.
+     */
+    public String fetchValueHash(DSLContext dslContext, Condition condition, boolean forUpdate) {
+        SelectConditionStep<Record1<Object>> select = dslContext
+            .select(VALUE_HASH_FIELD)
+            .from(table)
+            .where(condition);
+
+        return forUpdate ? select.forUpdate().fetchOne(0, String.class) : select.fetchOne(0, String.class);
+    }
+
     @SneakyThrows
     public Map<Field<Object>, Object> persistFields(T entity) {
-        return new HashMap<>(ImmutableMap
-            .of(io.kestra.jdbc.repository.AbstractJdbcRepository.field("value"), MAPPER.writeValueAsString(entity))
-        );
+        String json = MAPPER.writeValueAsString(entity);
+        return this.withValueHash(new HashMap<>(ImmutableMap
+            .of(io.kestra.jdbc.repository.AbstractJdbcRepository.field("value"), json)
+        ), json);
+    }
+
+    protected Map<Field<Object>, Object> withValueHash(Map<Field<Object>, Object> fields, String json) {
+        if (this.hashValues) {
+            fields.put(VALUE_HASH_FIELD, Hashing.sha256().hashString(json, StandardCharsets.UTF_8).toString());
+        }
+
+        return fields;
     }
     
     public int count(Condition condition) {
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.kestra.core.serializers.JacksonMapper;
 
 import java.io.IOException;
@@ -18,11 +19,16 @@ public abstract class JdbcMapper {
         .withZone(ZoneOffset.UTC);
     private static final DateTimeFormatter ZONED_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
     private static final ObjectMapper MAPPER = init();
+    private static final ObjectMapper SMILE_MAPPER = MAPPER.copyWith(new SmileFactory());
 
     public static ObjectMapper of() {
         return MAPPER;
     }
 
+    public static ObjectMapper ofSmile() {
+        return SMILE_MAPPER;
+    }
+
     private static ObjectMapper init() {
         ObjectMapper objectMapper = JacksonMapper.ofJson(false).copy();
 
@@ -29,6 +29,18 @@ public class JdbcTableConfigsFactory {
         return new InstantiableJdbcTableConfig("queues", null, "queues");
     }
 
+    @Bean
+    @Named("queue_offsets")
+    public InstantiableJdbcTableConfig queueOffsets() {
+        return new InstantiableJdbcTableConfig("queue_offsets", null, "queue_offsets");
+    }
+
+    @Bean
+    @Named("execution_taskruns")
+    public InstantiableJdbcTableConfig executionTaskRuns() {
+        return new InstantiableJdbcTableConfig("execution_taskruns", null, "execution_taskruns");
+    }
+
     @Bean
     @Named("flows")
     public InstantiableJdbcTableConfig flows() {
@@ -1,5 +1,8 @@
 package io.kestra.jdbc.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Lists;
 import io.kestra.core.events.CrudEvent;
 import io.kestra.core.models.Label;
 import io.kestra.core.models.QueryFilter;
@@ -9,6 +12,7 @@ import io.kestra.core.models.dashboards.DataFilter;
 import io.kestra.core.models.dashboards.DataFilterKPI;
 import io.kestra.core.models.dashboards.filters.*;
 import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
 import io.kestra.core.models.executions.statistics.DailyExecutionStatistics;
 import io.kestra.core.models.executions.statistics.ExecutionCount;
 import io.kestra.core.models.executions.statistics.ExecutionStatistics;
@@ -21,9 +25,11 @@ import io.kestra.core.repositories.ArrayListTotal;
 import io.kestra.core.repositories.ExecutionRepositoryInterface;
 import io.kestra.core.runners.Executor;
 import io.kestra.core.runners.ExecutorState;
+import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.utils.DateUtils;
 import io.kestra.core.utils.ListUtils;
 import io.kestra.core.utils.NamespaceUtils;
+import io.kestra.jdbc.JdbcTableConfigs;
 import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
 import io.kestra.jdbc.runner.JdbcQueueIndexerInterface;
 import io.kestra.jdbc.services.JdbcFilterService;
@@ -50,8 +56,10 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static io.kestra.core.models.QueryFilter.Field.KIND;
@@ -62,6 +70,9 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
     private static final Field<String> NAMESPACE_FIELD = field("namespace", String.class);
     private static final Field<Object> START_DATE_FIELD = field("start_date");
     private static final Condition NORMAL_KIND_CONDITION = field("kind").isNull();
+    private static final Field<String> EXECUTION_ID_FIELD = field("execution_id", String.class);
+    private static final Field<String> TASKRUN_ID_FIELD = field("taskrun_id", String.class);
+    private static final Field<Integer> ORDINAL_FIELD = field("ordinal", Integer.class);
 
     protected final io.kestra.jdbc.AbstractJdbcRepository<Execution> jdbcRepository;
     private final ApplicationEventPublisher<CrudEvent<Execution>> eventPublisher;
@@ -73,6 +84,13 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
     private final JdbcFilterService filterService;
 
+    private final Cache<String, CachedExecution> executionCache;
+
+    private final boolean taskRunRows;
+    private final Table<Record> taskRunsTable;
+    // executions persisted by a committed lock, so emitting them only writes the task runs that changed since
+    private final Cache<String, Execution> lockedExecutions;
+
     @Getter
     private final Map<Executions.Fields, String> fieldsMapping = Map.of(
         Executions.Fields.ID, "key",
@@ -104,6 +122,7 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
         JdbcFilterService filterService
     ) {
         this.jdbcRepository = jdbcRepository;
+        this.jdbcRepository.hashValues();
         this.executorStateStorage = executorStateStorage;
         this.eventPublisher = applicationContext.getBean(ApplicationEventPublisher.class);
         this.namespaceUtils = applicationContext.getBean(NamespaceUtils.class);
@@ -112,6 +131,36 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
         this.applicationContext = applicationContext;
 
         this.filterService = filterService;
+
+        this.taskRunRows = applicationContext.getProperty("kestra.jdbc.executions.task-run-rows.enabled", Boolean.class).orElse(false);
+        this.taskRunsTable = DSL.table(applicationContext.getBean(JdbcTableConfigs.class).tableConfig("execution_taskruns").table());
+        this.lockedExecutions = this.taskRunRows ?
+            Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(1)).build() :
+            null;
+
+        // the cache validates an execution with the hash of its row, which doesn't cover the task runs when they are stored as separate rows
+        if (!this.taskRunRows && applicationContext.getProperty("kestra.jdbc.executor.execution-cache.enabled", Boolean.class).orElse(false)) {
+            this.executionCache = Caffeine.newBuilder()
+                .maximumSize(applicationContext.getProperty("kestra.jdbc.executor.execution-cache.max-size", Long.class).orElse(1000L))
+                .expireAfterAccess(applicationContext.getProperty("kestra.jdbc.executor.execution-cache.expire-after-access", Duration.class).orElse(Duration.ofMinutes(10)))
+                .build();
+        } else {
+            this.executionCache = null;
+        }
+    }
+
+    /**
+     * Convert a serialized task run to the value to bind to the <code>value</code> column of the task runs table.
+     */
+    protected Object taskRunValue(String json) {
+        return json;
+    }
+
+    /**
+     * Condition added to the task run upsert to skip updating rows whose value didn't change, or null if the database doesn't support it.
+     */
+    protected Condition taskRunChangedCondition(Table<Record> table) {
+        return null;
     }
 
     @SuppressWarnings("unchecked")
@@ -140,6 +189,11 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                         .where(this.defaultFilter(tenantId))
                         .and(field("trigger_execution_id").eq(triggerExecutionId));
 
+                    if (this.taskRunRows) {
+                        this.emitWithTaskRuns(DSL.using(configuration), select, emitter);
+                        return;
+                    }
+
                     // fetchSize will fetch rows 100 by 100 even for databases where the driver loads all in memory
                     // using a stream will fetch lazily, otherwise all fetches would be done before starting emitting the items
                     try (var stream = select.fetchSize(FETCH_SIZE).stream()) {
@@ -169,7 +223,8 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                     .and(field("flow_id").eq(flowId))
                     .and(statesFilter(states))
                     .orderBy(field("start_date").desc());
-                return this.jdbcRepository.fetchOne(from);
+                return this.jdbcRepository.fetchOne(from)
+                    .map(execution -> this.withTaskRuns(DSL.using(configuration), execution));
             });
     }
 
@@ -193,7 +248,8 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                     .from(this.jdbcRepository.getTable())
                     .where(withAccessControl ? this.defaultFilter(tenantId, allowDeleted) : this.defaultFilterWithNoACL(tenantId, allowDeleted))
                     .and(field("key").eq(id));
-                return this.jdbcRepository.fetchOne(from);
+                return this.jdbcRepository.fetchOne(from)
+                    .map(execution -> this.withTaskRuns(DSL.using(configuration), execution));
             });
     }
 
@@ -234,7 +290,7 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
                 );
 
-                return this.jdbcRepository.fetchPage(context, select, pageable);
+                return this.withTaskRuns(context, this.jdbcRepository.fetchPage(context, select, pageable));
             });
     }
 
@@ -275,6 +331,11 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                         deleted
                     );
 
+                    if (this.taskRunRows) {
+                        this.emitWithTaskRuns(context, select, emitter);
+                        return;
+                    }
+
                     // fetchSize will fetch rows 100 by 100 even for databases where the driver loads all in memory
                     // using a stream will fetch lazily, otherwise all fetches would be done before starting emitting the items
                     try (var stream = select.fetchSize(FETCH_SIZE).stream()) {
@@ -361,6 +422,11 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                     .from(this.jdbcRepository.getTable())
                     .where(this.defaultFilter(tenantId));
 
+                if (this.taskRunRows) {
+                    this.emitWithTaskRuns(context, select, emitter);
+                    return;
+                }
+
                 try (Stream<Record1<Object>> stream = select.fetchSize(FETCH_SIZE).stream()) {
                     stream.map((Record record) -> jdbcRepository.map(record))
                         .forEach(emitter::next);
@@ -384,7 +450,7 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                     .and(field("namespace").eq(namespace))
                     .and(field("flow_id").eq(id));
 
-                return this.jdbcRepository.fetchPage(context, select, pageable);
+                return this.withTaskRuns(context, this.jdbcRepository.fetchPage(context, select, pageable));
             });
     }
 
@@ -892,13 +958,21 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                     .select(cte.field("value"))
                     .from(cte)
                     .where(field("row_num").eq(1));
-                return mainQuery.fetch().map(this.jdbcRepository::map);
+                return this.withTaskRuns(context, mainQuery.fetch().map(this.jdbcRepository::map));
             });
     }
 
 
     @Override
     public Execution save(Execution execution) {
+        if (this.taskRunRows) {
+            this.jdbcRepository
+                .getDslContextWrapper()
+                .transaction(configuration -> this.persist(DSL.using(configuration), execution, null));
+
+            return execution;
+        }
+
         Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(execution);
         this.jdbcRepository.persist(execution, fields);
 
@@ -907,6 +981,14 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
     @Override
     public Execution save(DSLContext dslContext, Execution execution) {
+        if (this.taskRunRows) {
+            // the executor emits the execution it just persisted while holding the lock, which is still the stored one
+            Execution locked = this.lockedExecutions.asMap().remove(execution.getId());
+            this.persist(dslContext, execution, locked);
+
+            return execution;
+        }
+
         Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(execution);
         this.jdbcRepository.persist(execution, dslContext, fields);
 
@@ -919,6 +1001,17 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
             return 0;
         }
 
+        if (this.taskRunRows) {
+            return this.jdbcRepository
+                .getDslContextWrapper()
+                .transactionResult(configuration -> {
+                    DSLContext context = DSL.using(configuration);
+                    items.forEach(execution -> this.persist(context, execution, null));
+
+                    return items.size();
+                });
+        }
+
         return this.jdbcRepository.persistBatch(items);
     }
 
@@ -927,12 +1020,19 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
         return this.jdbcRepository
             .getDslContextWrapper()
             .transactionResult(configuration -> {
-                DSL.using(configuration)
+                DSLContext context = DSL.using(configuration);
+
+                context
                     .update(this.jdbcRepository.getTable())
-                    .set(this.jdbcRepository.persistFields((execution)))
+                    .set(this.jdbcRepository.persistFields(this.taskRunRows ? execution.withTaskRunList(null) : execution))
                     .where(field("key").eq(execution.getId()))
                     .execute();
 
+                if (this.taskRunRows) {
+                    this.lockedExecutions.invalidate(execution.getId());
+                    this.persistTaskRuns(context, execution, null);
+                }
+
                 return execution;
             });
     }
@@ -947,8 +1047,14 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
         Execution deleted = execution.toDeleted();
 
-        Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(deleted);
-        this.jdbcRepository.persist(deleted, fields);
+        if (this.taskRunRows) {
+            this.jdbcRepository
+                .getDslContextWrapper()
+                .transaction(configuration -> this.persist(DSL.using(configuration), deleted, null));
+        } else {
+            Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(deleted);
+            this.jdbcRepository.persist(deleted, fields);
+        }
 
         executionQueue().emit(deleted);
 
@@ -960,6 +1066,17 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
     @Override
     public Integer purge(Execution execution) {
         int delete = this.jdbcRepository.delete(execution);
+        if (this.taskRunRows) {
+            this.lockedExecutions.invalidate(execution.getId());
+            this.jdbcRepository
+                .getDslContextWrapper()
+                .transaction(configuration -> DSL.using(configuration)
+                    .deleteFrom(this.taskRunsTable)
+                    .where(EXECUTION_ID_FIELD.eq(execution.getId()))
+                    .execute()
+                );
+        }
+
         eventPublisher.publishEvent(CrudEvent.delete(execution));
         return delete;
     }
@@ -974,6 +1091,13 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                 // we send the event before to be sure that if sending the event crash, we would not delete the exec
                 executions.forEach(execution -> eventPublisher.publishEvent(CrudEvent.delete(execution)));
 
+                if (this.taskRunRows) {
+                    this.lockedExecutions.invalidateAll(executions.stream().map(Execution::getId).toList());
+                    context.deleteFrom(this.taskRunsTable)
+                        .where(EXECUTION_ID_FIELD.in(executions.stream().map(Execution::getId).toList()))
+                        .execute();
+                }
+
                 return context.delete(this.jdbcRepository.getTable())
                     .where(field("key", String.class).in(executions.stream().map(Execution::getId).toList()))
                     .execute();
@@ -981,37 +1105,246 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
     }
 
     public Executor lock(String executionId, Function<Pair<Execution, ExecutorState>, Pair<Executor, ExecutorState>> function) {
-        return this.jdbcRepository
+        // the cached execution and state may be mutated by the function, so they are only cached back once the transaction is committed
+        CachedExecution cached = null;
+        if (this.executionCache != null) {
+            cached = this.executionCache.getIfPresent(executionId);
+            this.executionCache.invalidate(executionId);
+        }
+
+        CachedExecution finalCached = cached;
+        AtomicReference<CachedExecution> toCache = new AtomicReference<>();
+        AtomicReference<Execution> persisted = new AtomicReference<>();
+        Executor executor = this.jdbcRepository
             .getDslContextWrapper()
             .transactionResult(configuration -> {
                 DSLContext context = DSL.using(configuration);
 
-                SelectForUpdateOfStep<Record1<Object>> from = context
-                    .select(field("value"))
-                    .from(this.jdbcRepository.getTable())
-                    .where(field("key").eq(executionId))
-                    .and(this.defaultFilter())
-                    .forUpdate();
-
-                Optional<Execution> execution = this.jdbcRepository.fetchOne(from);
+                Pair<Execution, ExecutorState> current = this.lockAndFetch(context, executionId, finalCached);
 
                 // not ready for now, skip and wait for a first state
-                if (execution.isEmpty()) {
+                if (current == null) {
                     return null;
                 }
 
-                ExecutorState executorState = executorStateStorage.get(context, execution.get());
-                Pair<Executor, ExecutorState> pair = function.apply(Pair.of(execution.get(), executorState));
+                Pair<Executor, ExecutorState> pair = function.apply(current);
 
                 if (pair != null) {
-                    this.jdbcRepository.persist(pair.getKey().getExecution(), context, null);
-                    this.executorStateStorage.save(context, pair.getRight());
+                    // the locked execution is the stored one, so only the task runs that changed are written
+                    String executionHash = this.persist(context, pair.getKey().getExecution(), current.getLeft());
+                    String executorStateHash = this.executorStateStorage.save(context, pair.getRight());
+                    persisted.set(pair.getKey().getExecution());
+
+                    if (this.executionCache != null) {
+                        toCache.set(new CachedExecution(pair.getKey().getExecution(), pair.getRight(), executionHash, executorStateHash));
+                    }
 
                     return pair.getKey();
                 }
 
                 return null;
             });
+
+        if (toCache.get() != null) {
+            this.executionCache.put(executionId, toCache.get());
+        }
+
+        if (this.lockedExecutions != null && persisted.get() != null) {
+            this.lockedExecutions.put(executionId, persisted.get());
+        }
+
+        return executor;
+    }
+
+    /**
+     * Lock the execution row and return the execution and its executor state.
+     * If a cached version is given and both the execution and the state hashes still match the ones stored at write time,
+     * the cached version is returned without fetching and deserializing them.
+     */
+    private Pair<Execution, ExecutorState> lockAndFetch(DSLContext context, String executionId, @Nullable CachedExecution cached) {
+        if (cached != null) {
+            String executionHash = this.jdbcRepository.fetchValueHash(context, field("key").eq(executionId).and(this.defaultFilter()), true);
+
+            if (executionHash != null && executionHash.equals(cached.executionHash()) &&
+                Objects.equals(this.executorStateStorage.hash(context, executionId), cached.executorStateHash())
+            ) {
+                return Pair.of(cached.execution(), cached.executorState());
+            }
+        }
+
+        SelectForUpdateOfStep<Record1<Object>> from = context
+            .select(field("value"))
+            .from(this.jdbcRepository.getTable())
+            .where(field("key").eq(executionId))
+            .and(this.defaultFilter())
+            .forUpdate();
+
+        Optional<Execution> execution = this.jdbcRepository.fetchOne(from)
+            .map(fetched -> this.withTaskRuns(context, fetched));
+        if (execution.isEmpty()) {
+            return null;
+        }
+
+        return Pair.of(execution.get(), executorStateStorage.get(context, execution.get()));
+    }
+
+    /**
+     * Persist an execution; when task runs are stored as separate rows, the execution row is stored without its task runs.
+     * If the previous stored execution is known, only the task runs that differ from it are written.
+     *
+     * @return the hash of the stored execution row
+     */
+    private String persist(DSLContext context, Execution execution, @Nullable Execution previous) {
+        if (!this.taskRunRows) {
+            Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(execution);
+            this.jdbcRepository.persist(execution, context, fields);
+            return io.kestra.jdbc.AbstractJdbcRepository.valueHash(fields);
+        }
+
+        // any write makes the execution persisted by a previous lock outdated, the lock caches it back once committed
+        this.lockedExecutions.invalidate(execution.getId());
+        Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(execution.withTaskRunList(null));
+        this.jdbcRepository.persist(execution, context, fields);
+        this.persistTaskRuns(context, execution, previous);
+
+        return io.kestra.jdbc.AbstractJdbcRepository.valueHash(fields);
+    }
+
+    private void persistTaskRuns(DSLContext context, Execution execution, @Nullable Execution previous) {
+        List<TaskRun> taskRuns = ListUtils.emptyOnNull(execution.getTaskRunList());
+        List<TaskRun> previousTaskRuns = previous == null ? null : ListUtils.emptyOnNull(previous.getTaskRunList());
+
+        // task runs are only appended or updated in place by the executor, a previous list that is not a prefix means the list was rewritten
+        boolean incremental = previousTaskRuns != null &&
+            previousTaskRuns.size() <= taskRuns.size() &&
+            IntStream.range(0, previousTaskRuns.size()).allMatch(i -> previousTaskRuns.get(i).getId().equals(taskRuns.get(i).getId()));
+
+        if (!incremental) {
+            Set<String> ids = taskRuns.stream().map(TaskRun::getId).collect(Collectors.toSet());
+            List<String> removed = context
+                .select(TASKRUN_ID_FIELD)
+                .from(this.taskRunsTable)
+                .where(EXECUTION_ID_FIELD.eq(execution.getId()))
+                .fetch(TASKRUN_ID_FIELD)
+                .stream()
+                .filter(id -> !ids.contains(id))
+                .toList();
+
+            for (List<String> chunk : Lists.partition(removed, FETCH_SIZE)) {
+                context.deleteFrom(this.taskRunsTable)
+                    .where(EXECUTION_ID_FIELD.eq(execution.getId()))
+                    .and(TASKRUN_ID_FIELD.in(chunk))
+                    .execute();
+            }
+        }
+
+        List<Query> queries = new ArrayList<>();
+        for (int i = 0; i < taskRuns.size(); i++) {
+            if (incremental && i < previousTaskRuns.size() && taskRuns.get(i).equals(previousTaskRuns.get(i))) {
+                continue;
+            }
+
+            queries.add(this.upsertTaskRun(context, execution.getId(), i, taskRuns.get(i)));
+        }
+
+        if (!queries.isEmpty()) {
+            context.batch(queries).execute();
+        }
+    }
+
+    @SneakyThrows
+    private Query upsertTaskRun(DSLContext context, String executionId, int ordinal, TaskRun taskRun) {
+        Object value = this.taskRunValue(JacksonMapper.ofJson().writeValueAsString(taskRun));
+
+        var upsert = context
+            .insertInto(this.taskRunsTable)
+            .set(EXECUTION_ID_FIELD, executionId)
+            .set(TASKRUN_ID_FIELD, taskRun.getId())
+            .set(ORDINAL_FIELD, ordinal)
+            .set(field("value"), value)
+            .onConflict(EXECUTION_ID_FIELD, TASKRUN_ID_FIELD)
+            .doUpdate()
+            .set(ORDINAL_FIELD, ordinal)
+            .set(field("value"), value);
+
+        Condition changed = this.taskRunChangedCondition(this.taskRunsTable);
+
+        return changed == null ? upsert : upsert.where(changed);
+    }
+
+    private Execution withTaskRuns(DSLContext context, Execution execution) {
+        return this.withTaskRuns(context, List.of(execution)).getFirst();
+    }
+
+    private ArrayListTotal<Execution> withTaskRuns(DSLContext context, ArrayListTotal<Execution> executions) {
+        if (!this.taskRunRows) {
+            return executions;
+        }
+
+        return new ArrayListTotal<>(this.withTaskRuns(context, (List<Execution>) executions), executions.getTotal());
+    }
+
+    /**
+     * Load the task runs stored as separate rows of the given executions in a single query.
+     * Executions without task run rows, e.g. stored before the layout was enabled, keep the task runs of their document.
+     */
+    private List<Execution> withTaskRuns(DSLContext context, List<Execution> executions) {
+        if (!this.taskRunRows || executions.isEmpty()) {
+            return executions;
+        }
+
+        Map<String, List<TaskRun>> taskRuns = new HashMap<>();
+        context
+            .select(EXECUTION_ID_FIELD, field("value", String.class))
+            .from(this.taskRunsTable)
+            .where(EXECUTION_ID_FIELD.in(executions.stream().map(Execution::getId).toList()))
+            .orderBy(EXECUTION_ID_FIELD, ORDINAL_FIELD)
+            .fetch()
+            .forEach(record -> taskRuns
+                .computeIfAbsent(record.value1(), k -> new ArrayList<>())
+                .add(this.deserializeTaskRun(record.value2()))
+            );
+
+        return executions
+            .stream()
+            .map(execution -> taskRuns.containsKey(execution.getId()) ? execution.withTaskRunList(taskRuns.get(execution.getId())) : execution)
+            .toList();
+    }
+
+    @SneakyThrows
+    private TaskRun deserializeTaskRun(String value) {
+        return JacksonMapper.ofJson().readValue(value, TaskRun.class);
+    }
+
+    /**
+     * Task runs can't be fetched while a cursor is streaming the executions on the same connection,
+     * so executions are fetched by pages of {@link #FETCH_SIZE} ordered by key, and each page is completed with its task runs
+     * and emitted before fetching the next one, so memory stays bounded whatever the number of executions.
+     */
+    private void emitWithTaskRuns(DSLContext context, SelectConditionStep<Record1<Object>> select, FluxSink<Execution> emitter) {
+        try {
+            // the key of an execution is its id, so the next page starts after the id of the last emitted execution
+            Param<String> after = DSL.param("after", "");
+            ResultQuery<Record1<Object>> page = select
+                .and(field("key", String.class).gt(after))
+                .orderBy(field("key"))
+                .limit(FETCH_SIZE);
+
+            List<Execution> executions;
+            do {
+                executions = page.fetch().map(this.jdbcRepository::map);
+                this.withTaskRuns(context, executions).forEach(emitter::next);
+
+                if (!executions.isEmpty()) {
+                    page.bind("after", executions.getLast().getId());
+                }
+            } while (executions.size() == FETCH_SIZE);
+        } finally {
+            emitter.complete();
+        }
+    }
+
+    private record CachedExecution(Execution execution, ExecutorState executorState, String executionHash, String executorStateHash) {
     }
 
     @Override
@@ -7,7 +7,9 @@ import org.jooq.Record1;
 import org.jooq.SelectConditionStep;
 import org.jooq.impl.DSL;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -42,6 +44,25 @@ public abstract class AbstractJdbcExecutionDelayStorage extends AbstractJdbcRepo
             });
     }
 
+    /**
+     * Fetch the date of all the pending execution delays, whatever the executor that created them.
+     */
+    public List<Instant> dates() {
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                var select = DSL
+                    .using(configuration)
+                    .select(AbstractJdbcRepository.field("value"))
+                    .from(this.jdbcRepository.getTable());
+
+                return this.jdbcRepository.fetch(select)
+                    .stream()
+                    .map(ExecutionDelay::getDate)
+                    .toList();
+            });
+    }
+
     public void save(ExecutionDelay executionDelay) {
         Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(executionDelay);
         this.jdbcRepository.persist(executionDelay, fields);
@@ -15,6 +15,7 @@ public abstract class AbstractJdbcExecutorStateStorage {
 
     public AbstractJdbcExecutorStateStorage(io.kestra.jdbc.AbstractJdbcRepository<ExecutorState> jdbcRepository) {
         this.jdbcRepository = jdbcRepository;
+        this.jdbcRepository.hashValues();
     }
 
     public ExecutorState get(DSLContext dslContext, Execution execution) {
@@ -29,9 +30,21 @@ public abstract class AbstractJdbcExecutorStateStorage {
             .orElse(new ExecutorState(execution.getId()));
     }
 
-    public void save(DSLContext dslContext, ExecutorState executorState) {
+    /**
+     * Fetch the hash of the stored state of an execution, or null if there is no stored state.
+     */
+    public String hash(DSLContext dslContext, String executionId) {
+        return this.jdbcRepository.fetchValueHash(dslContext, AbstractJdbcRepository.field("key").eq(executionId), false);
+    }
+
+    /**
+     * Save the state of an execution and return the hash of the stored state.
+     */
+    public String save(DSLContext dslContext, ExecutorState executorState) {
         Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(executorState);
         this.jdbcRepository.persist(executorState, dslContext, fields);
+
+        return io.kestra.jdbc.AbstractJdbcRepository.valueHash(fields);
     }
 
     public void delete(Execution execution) {
@@ -82,4 +82,34 @@ public abstract class AbstractJdbcMultipleConditionStorage extends AbstractJdbcR
     public void delete(MultipleConditionWindow multipleConditionWindow) {
         this.jdbcRepository.delete(multipleConditionWindow);
     }
+
+    /**
+     * Fetch all the windows of all tenants.
+     */
+    public List<MultipleConditionWindow> findAll() {
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                var select = DSL
+                    .using(configuration)
+                    .select(field("value"))
+                    .from(this.jdbcRepository.getTable());
+
+                return this.jdbcRepository.fetch(select);
+            });
+    }
+
+    /**
+     * Save and delete windows in a single transaction.
+     */
+    public void write(List<MultipleConditionWindow> toSave, List<MultipleConditionWindow> toDelete) {
+        this.jdbcRepository
+            .getDslContextWrapper()
+            .transaction(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                toSave.forEach(window -> this.jdbcRepository.persist(window, context, this.jdbcRepository.persistFields(window)));
+                toDelete.forEach(window -> this.jdbcRepository.delete(context, window));
+            });
+    }
 }
@@ -0,0 +1,105 @@
+package io.kestra.jdbc.runner;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adapt the poll size and the poll interval of a single poll loop from what was observed on the previous polls.<p>
+ * <ul>
+ *     <li>When a poll holds its transaction longer than the target duration, the poll size is halved to release the locked rows sooner.</li>
+ *     <li>When a poll is full and fetched and processed well within the target duration, the poll size is doubled to save round-trips.</li>
+ *     <li>When a poll is mostly empty, the poll size slowly shrinks, so a burst doesn't lock a large batch once the load is back to normal.</li>
+ *     <li>When a poll is empty, the poll interval is doubled, it goes back to the minimum as soon as a message is fetched.</li>
+ * </ul>
+ * Decisions are always kept within the configured bounds. The controller is not thread-safe, it must only be used by its poll loop,
+ * only its current decisions can be read from other threads.
+ */
+final class AdaptivePollController {
+    private final int minPollSize;
+    private final int maxPollSize;
+    private final Duration minPollInterval;
+    private final Duration maxPollInterval;
+    private final Duration targetDuration;
+
+    private final AtomicInteger pollSize;
+    private final AtomicLong pollInterval;
+    private boolean full = false;
+
+    AdaptivePollController(JdbcQueue.Configuration configuration) {
+        if (configuration.getMinPollSize() <= 0 || configuration.getMaxPollSize() < configuration.getMinPollSize()) {
+            throw new IllegalArgumentException("'maxPollSize' (" + configuration.getMaxPollSize() + ") must be greater than 'minPollSize' (" + configuration.getMinPollSize() + ") which must be positive");
+        }
+
+        this.minPollSize = configuration.getMinPollSize();
+        this.maxPollSize = configuration.getMaxPollSize();
+        this.minPollInterval = configuration.getMinPollInterval();
+        this.maxPollInterval = configuration.getMaxPollInterval();
+        this.targetDuration = configuration.getAdaptivePollTargetDuration();
+
+        this.pollSize = new AtomicInteger(Math.clamp(configuration.getPollSize(), minPollSize, maxPollSize));
+        this.pollInterval = new AtomicLong(minPollInterval.toMillis());
+    }
+
+    /**
+     * The number of messages to fetch on the next poll.
+     */
+    int pollSize() {
+        return this.pollSize.get();
+    }
+
+    /**
+     * The duration to wait before the next poll when the previous one was not full.
+     */
+    Duration pollInterval() {
+        return Duration.ofMillis(this.pollInterval.get());
+    }
+
+    /**
+     * Whether the previous poll fetched as many messages as requested, meaning more messages are likely waiting.
+     */
+    boolean isFull() {
+        return this.full;
+    }
+
+    /**
+     * Gauge of the current poll size.
+     */
+    AtomicInteger pollSizeGauge() {
+        return this.pollSize;
+    }
+
+    /**
+     * Gauge of the current poll interval, in milliseconds.
+     */
+    AtomicLong pollIntervalGauge() {
+        return this.pollInterval;
+    }
+
+    /**
+     * Record the outcome of a poll.
+     *
+     * @param fetched the number of messages fetched.
+     * @param requested the poll size used for this poll.
+     * @param transaction the duration of the poll transaction, including the consumer processing when it runs inside the transaction.
+     * @param processing the duration of the consumer processing done outside the transaction.
+     */
+    void onPoll(int fetched, int requested, Duration transaction, Duration processing) {
+        this.full = fetched >= requested;
+
+        int current = this.pollSize.get();
+        if (transaction.compareTo(targetDuration) > 0) {
+            this.pollSize.set(Math.max(minPollSize, current / 2));
+        } else if (this.full && transaction.plus(processing).compareTo(targetDuration.dividedBy(2)) < 0) {
+            this.pollSize.set(Math.min(maxPollSize, current * 2));
+        } else if (fetched < requested / 4) {
+            this.pollSize.set(Math.max(minPollSize, current - current / 4));
+        }
+
+        if (fetched == 0) {
+            this.pollInterval.set(Math.clamp(this.pollInterval.get() * 2, minPollInterval.toMillis(), maxPollInterval.toMillis()));
+        } else {
+            this.pollInterval.set(minPollInterval.toMillis());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.models.flows.FlowId;
+import io.kestra.core.models.triggers.multipleflows.MultipleConditionStorageInterface;
+import io.kestra.core.models.triggers.multipleflows.MultipleConditionWindow;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MultipleConditionStorageInterface} keeping all the windows in memory, in front of the database storage.<p>
+ * Windows are loaded from the database on first use, then reads never go to the database.
+ * Writes are applied in memory and persisted asynchronously: the last state of each window is written in batch every flush interval,
+ * so the database is only needed to recover the windows after a restart.
+ * Expired windows are found from a heap ordered by end date instead of scanning the table.<p>
+ * As the windows are not read back from the database, only one executor must evaluate the multiple conditions:
+ * the {@link JdbcExecutor} only uses it on standalone, or when configured to run as the single executor.
+ */
+@Slf4j
+public class CachedMultipleConditionStorage implements MultipleConditionStorageInterface, AutoCloseable {
+    private final AbstractJdbcMultipleConditionStorage delegate;
+    private final ScheduledExecutorService flusher;
+
+    private final Map<String, MultipleConditionWindow> windows = new ConcurrentHashMap<>();
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    // guarded by itself, tenant ids can be null
+    private final Map<String, PriorityQueue<Deadline>> deadlines = new HashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public CachedMultipleConditionStorage(AbstractJdbcMultipleConditionStorage delegate, Duration flushInterval) {
+        this.delegate = delegate;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> Thread.ofPlatform()
+            .name("jdbc-multiple-condition-flusher")
+            .daemon(true)
+            .unstarted(runnable)
+        );
+        this.flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<MultipleConditionWindow> get(FlowId flow, String conditionId) {
+        this.load();
+
+        return Optional.ofNullable(this.windows.get(MultipleConditionWindow.uid(flow, conditionId)));
+    }
+
+    @Override
+    public List<MultipleConditionWindow> expired(String tenantId) {
+        this.load();
+
+        long now = System.currentTimeMillis();
+        Map<String, MultipleConditionWindow> expired = new LinkedHashMap<>();
+        synchronized (this.deadlines) {
+            PriorityQueue<Deadline> heap = this.deadlines.get(tenantId);
+            if (heap == null) {
+                return Collections.emptyList();
+            }
+
+            List<Deadline> notDeleted = new ArrayList<>();
+            while (!heap.isEmpty() && heap.peek().end() < now) {
+                Deadline deadline = heap.poll();
+
+                // deadlines are removed lazily, skip the ones of deleted windows or windows whose end changed
+                MultipleConditionWindow window = this.windows.get(deadline.uid());
+                if (window != null && window.getEnd() != null && window.getEnd().toInstant().toEpochMilli() == deadline.end()) {
+                    expired.put(deadline.uid(), window);
+                    notDeleted.add(deadline);
+                }
+            }
+
+            // keep them until the window is deleted, like the database storage
+            heap.addAll(notDeleted);
+        }
+
+        return new ArrayList<>(expired.values());
+    }
+
+    @Override
+    public void save(List<MultipleConditionWindow> multipleConditionWindows) {
+        this.load();
+
+        multipleConditionWindows.forEach(window -> {
+            String uid = window.uid();
+            MultipleConditionWindow previous = this.windows.put(uid, window);
+            if (previous == null || !Objects.equals(previous.getEnd(), window.getEnd())) {
+                this.addDeadline(window);
+            }
+
+            this.pendingWrites.put(uid, new PendingWrite(window, false));
+        });
+    }
+
+    @Override
+    public void delete(MultipleConditionWindow multipleConditionWindow) {
+        this.load();
+
+        String uid = multipleConditionWindow.uid();
+        this.windows.remove(uid);
+        this.pendingWrites.put(uid, new PendingWrite(multipleConditionWindow, true));
+    }
+
+    /**
+     * Persist the last state of the windows changed since the previous flush.
+     */
+    public void flush() {
+        Map<String, PendingWrite> toWrite = new HashMap<>(this.pendingWrites);
+        if (toWrite.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.delegate.write(
+                toWrite.values().stream().filter(write -> !write.deleted()).map(PendingWrite::window).toList(),
+                toWrite.values().stream().filter(PendingWrite::deleted).map(PendingWrite::window).toList()
+            );
+
+            // windows saved or deleted during the write stay pending for the next flush
+            toWrite.forEach((uid, write) -> this.pendingWrites.computeIfPresent(uid, (key, pending) -> pending == write ? null : pending));
+        } catch (Exception e) {
+            log.warn("Unable to persist {} multiple condition window(s), will retry on next flush", toWrite.size(), e);
+        }
+    }
+
+    private void load() {
+        if (this.loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!this.loaded) {
+                this.delegate.findAll().forEach(window -> {
+                    this.windows.put(window.uid(), window);
+                    this.addDeadline(window);
+                });
+                this.loaded = true;
+            }
+        }
+    }
+
+    private void addDeadline(MultipleConditionWindow window) {
+        if (window.getEnd() == null) {
+            return;
+        }
+
+        synchronized (this.deadlines) {
+            this.deadlines
+                .computeIfAbsent(window.getTenantId(), k -> new PriorityQueue<>(Comparator.comparingLong(Deadline::end)))
+                .add(new Deadline(window.getEnd().toInstant().toEpochMilli(), window.uid()));
+        }
+    }
+
+    @Override
+    public void close() {
+        this.flusher.shutdown();
+        try {
+            if (!this.flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                this.flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.flush();
+    }
+
+    private record PendingWrite(MultipleConditionWindow window, boolean deleted) {
+    }
+
+    private record Deadline(long end, String uid) {
+    }
+}
@@ -13,12 +13,15 @@ import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Table;
 import org.jooq.impl.DSL;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Singleton
@@ -29,17 +32,20 @@ public class JdbcCleaner {
     private final JooqDSLContextWrapper dslContextWrapper;
     private final Configuration configuration;
     private final JdbcCleanerService jdbcCleanerService;
+    private final QueuePartitioningConfiguration partitioningConfiguration;
     private final Table<Record> queueTable;
 
     @Inject
     public JdbcCleaner(@Named("queues") JdbcTableConfig jdbcTableConfig,
                        JooqDSLContextWrapper dslContextWrapper,
                        Configuration configuration,
-                       JdbcCleanerService jdbcCleanerService
+                       JdbcCleanerService jdbcCleanerService,
+                       QueuePartitioningConfiguration partitioningConfiguration
     ) {
         this.dslContextWrapper = dslContextWrapper;
         this.configuration = configuration;
         this.jdbcCleanerService = jdbcCleanerService;
+        this.partitioningConfiguration = partitioningConfiguration;
 
         this.queueTable = DSL.table(jdbcTableConfig.table());
     }
@@ -58,17 +64,28 @@ public class JdbcCleaner {
             });
         });
 
-        // then, delete all other records
+        // then, delete all other records, from the default partition only when the others are removed by dropping them
+        Table<Record> table = this.queueTable;
+        if (this.isPartitioned() && this.partitionRetention().equals(this.configuration.getRetention())) {
+            table = ((PartitionedJdbcCleanerService) jdbcCleanerService).defaultPartition(this.queueTable.getName());
+        }
+
+        Table<Record> finalTable = table;
         dslContextWrapper.transaction(configuration -> {
             int deleted = DSL
                 .using(configuration)
-                .delete(this.queueTable)
+                .delete(finalTable)
                 .where(
                     AbstractJdbcRepository.field("updated")
                         .lessOrEqual(ZonedDateTime.now().minus(this.configuration.getRetention()).toOffsetDateTime())
                 )
                 .execute();
-            log.info("Cleaned {} records from {}", deleted, this.queueTable.getName());
+
+            if (finalTable != this.queueTable && deleted > 0) {
+                log.warn("Cleaned {} records from the default partition of {}, partitions are not created far enough in advance", deleted, this.queueTable.getName());
+            } else {
+                log.info("Cleaned {} records from {}", deleted, this.queueTable.getName());
+            }
         });
     }
 
@@ -77,6 +94,104 @@ public class JdbcCleaner {
         deleteQueue();
     }
 
+    /**
+     * Manage the partitions of the <code>queues</code> table: convert it to a partitioned table if requested,
+     * create the partitions in advance and drop the ones that are older than the retention.
+     */
+    @Scheduled(initialDelay = "${kestra.jdbc.cleaner.partitioning.initial-delay:0s}", fixedDelay = "${kestra.jdbc.cleaner.partitioning.fixed-delay:10m}")
+    public void partitions() {
+        if (!partitioningConfiguration.isEnabled()) {
+            return;
+        }
+
+        if (!(jdbcCleanerService instanceof PartitionedJdbcCleanerService partitionedCleanerService)) {
+            log.warn("Partitioning of the {} table is not supported by the database, skipping it", this.queueTable.getName());
+            return;
+        }
+
+        Duration interval = partitioningConfiguration.getInterval();
+        Instant now = Instant.now();
+
+        if (!this.isPartitioned()) {
+            if (!partitioningConfiguration.isConvert()) {
+                log.warn("The {} table is not partitioned, set 'kestra.jdbc.cleaner.partitioning.convert' during a maintenance window to convert it", this.queueTable.getName());
+                return;
+            }
+
+            Instant start = QueuePartition.floor(now, interval);
+            List<QueuePartition> partitions = new ArrayList<>();
+            partitions.add(new QueuePartition(null, start));
+            partitions.add(new QueuePartition(start, start.plus(interval)));
+
+            log.info("Partitioning the {} table, its messages are copied to the partitioned table", this.queueTable.getName());
+            dslContextWrapper.transaction(configuration -> {
+                partitionedCleanerService.partition(DSL.using(configuration), this.queueTable.getName(), partitions);
+            });
+            log.info("Partitioned the {} table", this.queueTable.getName());
+        }
+
+        // partitions are created and dropped in separate transactions, so a failed creation doesn't prevent dropping the expired ones
+        try {
+            dslContextWrapper.transaction(configuration -> {
+                DSLContext context = DSL.using(configuration);
+                List<QueuePartition> partitions = this.sortedPartitions(partitionedCleanerService, context);
+
+                // create partitions in advance
+                Instant end = now.plus(interval.multipliedBy(partitioningConfiguration.getPremake() + 1));
+                Instant last = partitions.isEmpty() ? QueuePartition.floor(now, interval) : partitions.getLast().to();
+                while (last.isBefore(end)) {
+                    QueuePartition partition = new QueuePartition(last, last.plus(interval));
+                    partitionedCleanerService.createPartition(context, this.queueTable.getName(), partition);
+                    log.info("Created partition {} on the {} table", partition.name(), this.queueTable.getName());
+                    last = partition.to();
+                }
+            });
+        } catch (Exception e) {
+            log.error("Unable to create the partitions of the {} table, new messages are stored in its default partition", this.queueTable.getName(), e);
+        }
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+            List<QueuePartition> partitions = this.sortedPartitions(partitionedCleanerService, context);
+
+            // drop expired partitions, the last one is always kept
+            Instant expiration = now.minus(this.partitionRetention());
+            partitions
+                .stream()
+                .limit(Math.max(0, partitions.size() - 1))
+                .filter(partition -> !partition.to().isAfter(expiration))
+                .forEach(partition -> {
+                    partitionedCleanerService.dropPartition(context, this.queueTable.getName(), partition);
+                    log.info("Dropped partition {} from the {} table", partition.name(), this.queueTable.getName());
+                });
+        });
+    }
+
+    private List<QueuePartition> sortedPartitions(PartitionedJdbcCleanerService partitionedCleanerService, DSLContext context) {
+        return partitionedCleanerService.partitions(context, this.queueTable.getName())
+            .stream()
+            .sorted()
+            .toList();
+    }
+
+    private boolean isPartitioned() {
+        return partitioningConfiguration.isEnabled() &&
+            jdbcCleanerService instanceof PartitionedJdbcCleanerService partitionedCleanerService &&
+            dslContextWrapper.transactionResult(configuration -> partitionedCleanerService.isPartitioned(DSL.using(configuration), this.queueTable.getName()));
+    }
+
+    /**
+     * Partitions contain all types of messages, so they can only be dropped once the longest retention is elapsed.
+     */
+    private Duration partitionRetention() {
+        return ListUtils.emptyOnNull(configuration.getTypes())
+            .stream()
+            .map(Configuration.TypeConfiguration::getRetention)
+            .filter(retention -> retention.compareTo(configuration.getRetention()) > 0)
+            .max(Duration::compareTo)
+            .orElse(configuration.getRetention());
+    }
+
     @ConfigurationProperties("kestra.jdbc.cleaner")
     @Getter
     public static class Configuration {
@@ -1,10 +1,12 @@
 package io.kestra.jdbc.runner;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
 import io.kestra.core.contexts.KestraContext;
 import io.kestra.core.exceptions.DeserializationException;
 import io.kestra.core.exceptions.InternalException;
 import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.ServerType;
 import io.kestra.core.models.executions.*;
 import io.kestra.core.models.flows.*;
 import io.kestra.core.models.flows.sla.*;
@@ -28,6 +30,7 @@ import io.kestra.core.trace.Tracer;
 import io.kestra.core.trace.TracerFactory;
 import io.kestra.core.utils.*;
 import io.kestra.executor.ExecutorService;
+import io.kestra.executor.FlowTriggerIndex;
 import io.kestra.executor.FlowTriggerService;
 import io.kestra.executor.SLAService;
 import io.kestra.core.services.SkipExecutionService;
@@ -40,6 +43,7 @@ import io.kestra.plugin.core.flow.Template;
 import io.kestra.plugin.core.flow.WorkingDirectory;
 import io.micronaut.context.annotation.Value;
 import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.jdbc.DataSourceResolver;
 import io.micronaut.transaction.exceptions.CannotCreateTransactionException;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
@@ -55,6 +59,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.jooq.Configuration;
 import org.slf4j.event.Level;
 
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
@@ -134,6 +139,9 @@ public class JdbcExecutor implements ExecutorInterface {
     private ExecutorService executorService;
 
     @Inject
+    private AbstractJdbcMultipleConditionStorage jdbcMultipleConditionStorage;
+
+    // the database storage, or an in-memory storage in front of it when the multiple condition cache is enabled
     private MultipleConditionStorageInterface multipleConditionStorage;
 
     @Inject
@@ -165,6 +173,9 @@ public class JdbcExecutor implements ExecutorInterface {
 
     protected List<FlowWithSource> allFlows;
 
+    // only set when the flow trigger index is enabled
+    private FlowTriggerIndex flowTriggerIndex;
+
     @Inject
     private WorkerGroupService workerGroupService;
 
@@ -198,6 +209,48 @@ public class JdbcExecutor implements ExecutorInterface {
     @Value("${kestra.jdbc.executor.clean.worker-queue:true}")
     private boolean cleanWorkerJobQueue;
 
+    @Value("${kestra.jdbc.executor.partitioned-consumption.enabled:false}")
+    private boolean partitionedConsumption;
+
+    @Value("${kestra.jdbc.executor.partitioned-consumption.max-in-flight:1000}")
+    private int partitionedMaxInFlight;
+
+    @Value("${kestra.jdbc.executor.virtual-threads.max-concurrency:0}")
+    private int virtualThreadsMaxConcurrency;
+
+    @Value("${kestra.jdbc.executor.virtual-threads.reserved-connections:8}")
+    private int virtualThreadsReservedConnections;
+
+    @Value("${kestra.jdbc.executor.flow-trigger-index.enabled:true}")
+    private boolean flowTriggerIndexEnabled;
+
+    @Value("${kestra.jdbc.executor.execution-delay.timer-wheel.enabled:false}")
+    private boolean executionDelayTimerWheelEnabled;
+
+    @Value("${kestra.jdbc.executor.execution-delay.timer-wheel.tick:10ms}")
+    private Duration executionDelayTick;
+
+    @Value("${kestra.jdbc.executor.execution-delay.timer-wheel.recovery-interval:30s}")
+    private Duration executionDelayRecoveryInterval;
+
+    @Value("${kestra.jdbc.executor.multiple-condition-cache.enabled:false}")
+    private boolean multipleConditionCacheEnabled;
+
+    @Value("${kestra.jdbc.executor.multiple-condition-cache.flush-interval:1s}")
+    private Duration multipleConditionCacheFlushInterval;
+
+    @Value("${kestra.jdbc.executor.multiple-condition-cache.single-executor:false}")
+    private boolean multipleConditionCacheSingleExecutor;
+
+    @Value("${kestra.server-type:}")
+    private String serverType;
+
+    @Inject
+    private DataSource dataSource;
+
+    @Inject
+    private Optional<DataSourceResolver> dataSourceResolver;
+
     private final Tracer tracer;
 
     private final FlowMetaStoreInterface flowMetaStore;
@@ -222,6 +275,17 @@ public class JdbcExecutor implements ExecutorInterface {
     private final java.util.concurrent.ExecutorService workerTaskResultExecutorService;
     private final java.util.concurrent.ExecutorService executionExecutorService;
     private final int numberOfThreads;
+    private final boolean virtualThreads;
+
+    // bound the number of execution and worker task result messages processed concurrently on virtual threads, so they don't wait for a database connection
+    private Semaphore transactionPermits;
+
+    // only set when the execution delay timer wheel is enabled, it fires the delays created or loaded by this executor when they are due
+    private TimerWheel<Instant> executionDelayTimer;
+    private final AtomicBoolean executionDelaySendPending = new AtomicBoolean(false);
+
+    private KeyPartitionedExecutor executionPartitionedExecutor;
+    private KeyPartitionedExecutor workerTaskResultPartitionedExecutor;
 
     /**
      * Creates a new {@link JdbcExecutor} instance. Both constructor and field injection are used
@@ -241,7 +305,8 @@ public class JdbcExecutor implements ExecutorInterface {
         final TracerFactory tracerFactory,
         final ExecutorsUtils executorsUtils,
         final MaintenanceService maintenanceService,
-        @Value("${kestra.jdbc.executor.thread-count:0}") final int threadCount
+        @Value("${kestra.jdbc.executor.thread-count:0}") final int threadCount,
+        @Value("${kestra.jdbc.executor.virtual-threads.enabled:false}") final boolean virtualThreads
         ) {
         this.serviceLivenessCoordinator = serviceLivenessCoordinator;
         this.flowMetaStore = flowMetaStore;
@@ -254,8 +319,15 @@ public class JdbcExecutor implements ExecutorInterface {
         // for the worker task result queue and the execution queue.
         // Other queues would not benefit from more consumers.
         this.numberOfThreads = threadCount != 0 ? threadCount : Math.max(4, Runtime.getRuntime().availableProcessors());
-        this.workerTaskResultExecutorService = executorsUtils.maxCachedThreadPool(numberOfThreads, "jdbc-worker-task-result-executor");
-        this.executionExecutorService = executorsUtils.maxCachedThreadPool(numberOfThreads, "jdbc-execution-executor");
+        this.virtualThreads = virtualThreads;
+        if (virtualThreads) {
+            // messages mostly wait on the database, so each one gets its own virtual thread, and the concurrency is bounded by transactionPermits
+            this.workerTaskResultExecutorService = executorsUtils.virtualThreadPerTaskExecutor("jdbc-worker-task-result-executor");
+            this.executionExecutorService = executorsUtils.virtualThreadPerTaskExecutor("jdbc-execution-executor");
+        } else {
+            this.workerTaskResultExecutorService = executorsUtils.maxCachedThreadPool(numberOfThreads, "jdbc-worker-task-result-executor");
+            this.executionExecutorService = executorsUtils.maxCachedThreadPool(numberOfThreads, "jdbc-execution-executor");
+        }
     }
 
     @PostConstruct
@@ -288,41 +360,99 @@ public class JdbcExecutor implements ExecutorInterface {
         if (serviceLivenessCoordinator != null) {
             serviceLivenessCoordinator.setExecutor(this);
         }
+        this.multipleConditionStorage = this.useMultipleConditionCache() ?
+            new CachedMultipleConditionStorage(jdbcMultipleConditionStorage, multipleConditionCacheFlushInterval) :
+            jdbcMultipleConditionStorage;
+
         flowListeners.run();
+        if (flowTriggerIndexEnabled) {
+            // flow changes are applied incrementally, the first list of flows initializes the index
+            this.flowTriggerIndex = new FlowTriggerIndex(flowTriggerService);
+            flowListeners.listen((flow, previous) -> this.flowTriggerIndex.upsert(flow, previous));
+            flowListeners.listen(flows -> this.flowTriggerIndex.initialize(flows));
+        }
         flowListeners.listen(flows -> this.allFlows = flows);
 
         Await.until(() -> this.allFlows != null, Duration.ofMillis(100), Duration.ofMinutes(5));
 
-        this.receiveCancellations.addFirst(((JdbcQueue<Execution>) this.executionQueue).receiveBatch(
-            Executor.class,
-            executions -> {
-                List<CompletableFuture<Void>> futures = executions.stream()
-                    .map(execution -> CompletableFuture.runAsync(() -> executionQueue(execution), executionExecutorService))
-                    .toList();
-                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-            }
-        ));
-        this.receiveCancellations.addFirst(((JdbcQueue<WorkerTaskResult>) this.workerTaskResultQueue).receiveBatch(
-            Executor.class,
-            workerTaskResults -> {
-                List<CompletableFuture<Void>> futures = workerTaskResults.stream()
-                    .map(workerTaskResult -> CompletableFuture.runAsync(() -> workerTaskResultQueue(workerTaskResult), workerTaskResultExecutorService))
-                    .toList();
-                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-            }
-        ));
+        int concurrency = numberOfThreads;
+        if (virtualThreads) {
+            concurrency = this.transactionPermitCount();
+            this.transactionPermits = new Semaphore(concurrency);
+        }
+
+        if (partitionedConsumption) {
+            // messages of the same execution are processed in order on the same lane, and a batch doesn't wait for the previous one to be fully processed
+            this.executionPartitionedExecutor = new KeyPartitionedExecutor(executionExecutorService, concurrency, partitionedMaxInFlight);
+            this.workerTaskResultPartitionedExecutor = new KeyPartitionedExecutor(workerTaskResultExecutorService, concurrency, partitionedMaxInFlight);
+
+            // messages are flagged as consumed once processed, so a batch is received again if the executor stops before
+            this.receiveCancellations.addFirst(((JdbcQueue<Execution>) this.executionQueue).receiveBatchAsync(
+                Executor.class,
+                throwFunction(executions -> {
+                    List<CompletableFuture<Void>> futures = new ArrayList<>(executions.size());
+                    for (Either<Execution, DeserializationException> execution : executions) {
+                        String key = execution.isLeft() ? execution.getLeft().getId() : null;
+                        futures.add(executionPartitionedExecutor.submit(key, () -> this.withTransactionPermit(() -> executionQueue(execution))));
+                    }
+                    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+                })
+            ));
+            this.receiveCancellations.addFirst(((JdbcQueue<WorkerTaskResult>) this.workerTaskResultQueue).receiveBatchAsync(
+                Executor.class,
+                throwFunction(workerTaskResults -> {
+                    List<CompletableFuture<Void>> futures = new ArrayList<>();
+                    for (Map.Entry<String, List<WorkerTaskResult>> entry : this.groupByExecution(workerTaskResults).entrySet()) {
+                        futures.add(workerTaskResultPartitionedExecutor.submit(entry.getKey(), () -> this.withTransactionPermit(() -> workerTaskResultQueue(entry.getKey(), entry.getValue()))));
+                    }
+                    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+                })
+            ));
+        } else {
+            this.receiveCancellations.addFirst(((JdbcQueue<Execution>) this.executionQueue).receiveBatch(
+                Executor.class,
+                executions -> {
+                    List<CompletableFuture<Void>> futures = executions.stream()
+                        .map(execution -> CompletableFuture.runAsync(() -> this.withTransactionPermit(() -> executionQueue(execution)), executionExecutorService))
+                        .toList();
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                }
+            ));
+            this.receiveCancellations.addFirst(((JdbcQueue<WorkerTaskResult>) this.workerTaskResultQueue).receiveBatch(
+                Executor.class,
+                workerTaskResults -> {
+                    List<CompletableFuture<Void>> futures = this.groupByExecution(workerTaskResults).entrySet().stream()
+                        .map(entry -> CompletableFuture.runAsync(() -> this.withTransactionPermit(() -> workerTaskResultQueue(entry.getKey(), entry.getValue())), workerTaskResultExecutorService))
+                        .toList();
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                }
+            ));
+        }
         this.receiveCancellations.addFirst(this.killQueue.receive(Executor.class, this::killQueue));
         this.receiveCancellations.addFirst(this.subflowExecutionResultQueue.receive(Executor.class, this::subflowExecutionResultQueue));
         this.receiveCancellations.addFirst(this.subflowExecutionEndQueue.receive(Executor.class, this::subflowExecutionEndQueue));
         this.receiveCancellations.addFirst(this.multipleConditionEventQueue.receive(Executor.class, this::multipleConditionEventQueue));
         this.clusterEventQueue.ifPresent(clusterEventQueueInterface -> this.receiveCancellations.addFirst(clusterEventQueueInterface.receive(this::clusterEventQueue)));
 
-        executionDelayFuture = scheduledDelay.scheduleAtFixedRate(
-            this::executionDelaySend,
-            0,
-            1,
-            TimeUnit.SECONDS
-        );
+        if (executionDelayTimerWheelEnabled) {
+            // the table stays the source of truth, it is still polled to recover the delays of other executors that died before they were due
+            this.executionDelayTimer = new TimerWheel<>("jdbc-execution-delay-timer", executionDelayTick, 512, date -> this.executionDelayDue());
+            executionDelayStorage.dates().forEach(date -> this.executionDelayTimer.schedule(date, date));
+
+            executionDelayFuture = scheduledDelay.scheduleAtFixedRate(
+                this::executionDelaySend,
+                0,
+                executionDelayRecoveryInterval.toMillis(),
+                TimeUnit.MILLISECONDS
+            );
+        } else {
+            executionDelayFuture = scheduledDelay.scheduleAtFixedRate(
+                this::executionDelaySend,
+                0,
+                1,
+                TimeUnit.SECONDS
+            );
+        }
 
         monitorSLAFuture = scheduledDelay.scheduleAtFixedRate(
             this::executionSLAMonitor,
@@ -413,7 +543,11 @@ public class JdbcExecutor implements ExecutorInterface {
         } else {
             setState(ServiceState.RUNNING);
         }
-        log.info("Executor started with {} thread(s)", numberOfThreads);
+        if (virtualThreads) {
+            log.info("Executor started with virtual threads, processing up to {} message(s) concurrently", concurrency);
+        } else {
+            log.info("Executor started with {} thread(s)", numberOfThreads);
+        }
     }
 
     private void multipleConditionEventQueue(Either<MultipleConditionEvent, DeserializationException> either) {
@@ -544,7 +678,9 @@ public class JdbcExecutor implements ExecutorInterface {
             return;
         }
 
+        long lockNanos = phaseStart();
         Executor result = executionRepository.lock(message.getId(), pair -> {
+            executorService.recordPhase("lock_wait", lockNanos);
             Execution execution = pair.getLeft();
             ExecutorState executorState = pair.getRight();
 
@@ -565,7 +701,7 @@ public class JdbcExecutor implements ExecutorInterface {
                                 .state(State.Type.RUNNING)
                                 .delayType(ExecutionDelay.DelayType.RESUME_FLOW)
                                 .build();
-                            executionDelayStorage.save(executionDelay);
+                            this.saveExecutionDelay(executionDelay);
                             return Pair.of(
                                 executor,
                                 executorState
@@ -700,7 +836,7 @@ public class JdbcExecutor implements ExecutorInterface {
                         // schedulerDelay
                         if (!executor.getExecutionDelays().isEmpty()) {
                             executor.getExecutionDelays()
-                                .forEach(executionDelay -> executionDelayStorage.save(executionDelay));
+                                .forEach(this::saveExecutionDelay);
                         }
 
                         // subflow executions
@@ -748,12 +884,84 @@ public class JdbcExecutor implements ExecutorInterface {
                 }
             );
         });
+        executorService.recordPhase("lock", lockNanos);
 
         if (result != null) {
             this.toExecution(result);
         }
     }
 
+    /**
+     * Number of messages processed concurrently in virtual threads mode.<p>
+     * Each message needs two pooled connections at the same time: the one of the lock transaction,
+     * and a second one taken by the emits and saves done through {@link io.kestra.jdbc.JooqDSLContextWrapper#transaction} while the lock is held.
+     * The queue pollers, the schedulers and the indexer also draw from the same pool.
+     * So, unless <code>max-concurrency</code> is set, the permits are half of the pool once <code>reserved-connections</code> are left for the others,
+     * otherwise every connection could be held by a message waiting for its second one until the Hikari connection timeout.
+     */
+    private int transactionPermitCount() {
+        Optional<Integer> poolSize = this.connectionPoolSize();
+
+        if (virtualThreadsMaxConcurrency > 0) {
+            if (poolSize.isPresent() && virtualThreadsMaxConcurrency * 2 + virtualThreadsReservedConnections > poolSize.get()) {
+                log.warn(
+                    "kestra.jdbc.executor.virtual-threads.max-concurrency ({}) needs {} connection(s) but the pool has {}, messages may wait for a connection until the connection timeout",
+                    virtualThreadsMaxConcurrency,
+                    virtualThreadsMaxConcurrency * 2 + virtualThreadsReservedConnections,
+                    poolSize.get()
+                );
+            }
+            return virtualThreadsMaxConcurrency;
+        }
+
+        if (poolSize.isEmpty()) {
+            log.warn("Unable to find the connection pool size, the number of messages processed concurrently is limited to {}", numberOfThreads);
+            return numberOfThreads;
+        }
+
+        int permits = (poolSize.get() - virtualThreadsReservedConnections) / 2;
+        if (permits < 1) {
+            log.warn(
+                "The connection pool has {} connection(s), {} are reserved for the queue pollers, messages are processed one at a time, consider increasing the pool size",
+                poolSize.get(),
+                virtualThreadsReservedConnections
+            );
+            return 1;
+        }
+
+        return permits;
+    }
+
+    private Optional<Integer> connectionPoolSize() {
+        // use the raw datasource, as the one injected is bound to the current transaction
+        DataSource rawDataSource = dataSourceResolver.orElse(DataSourceResolver.DEFAULT).resolve(dataSource);
+        if (rawDataSource instanceof HikariDataSource hikariDataSource) {
+            return Optional.of(hikariDataSource.getMaximumPoolSize());
+        }
+
+        return Optional.empty();
+    }
+
+    private void withTransactionPermit(Runnable runnable) {
+        if (this.transactionPermits == null) {
+            runnable.run();
+            return;
+        }
+
+        try {
+            this.transactionPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            runnable.run();
+        } finally {
+            this.transactionPermits.release();
+        }
+    }
+
     private Execution fail(Execution message, Exception e) {
         var failedExecution = message.failedExecutionFromExecutor(e);
         try {
@@ -780,7 +988,9 @@ public class JdbcExecutor implements ExecutorInterface {
             executorService.log(log, true, message);
         }
 
+        long lockNanos = phaseStart();
         Executor executor = executionRepository.lock(message.getTaskRun().getExecutionId(), pair -> {
+            executorService.recordPhase("lock_wait", lockNanos);
             Execution execution = pair.getLeft();
             Executor current = new Executor(execution, null);
 
@@ -788,25 +998,94 @@ public class JdbcExecutor implements ExecutorInterface {
                 throw new IllegalStateException("Execution state don't exist for " + message.getTaskRun().getExecutionId() + ", receive " + message);
             }
 
-            if (execution.hasTaskRunJoinable(message.getTaskRun())) {
-                try {
-                    // process worker task result
-                    executorService.addWorkerTaskResult(current, () -> findFlow(execution), message);
+            try {
+                // process worker task result, if it can be joined
+                if (executorService.addWorkerTaskResults(current, () -> findFlow(execution), List.of(message))) {
                     // join worker result
                     return Pair.of(
                         current,
                         pair.getRight()
                     );
-                } catch (InternalException e) {
-                    return Pair.of(
-                        handleFailedExecutionFromExecutor(current, e),
-                        pair.getRight()
-                    );
                 }
+            } catch (InternalException e) {
+                return Pair.of(
+                    handleFailedExecutionFromExecutor(current, e),
+                    pair.getRight()
+                );
             }
 
             return null;
         });
+        executorService.recordPhase("lock", lockNanos);
+
+        if (executor != null) {
+            this.toExecution(executor);
+        }
+    }
+
+    /**
+     * Group the worker task results of a batch by execution, keeping their order, so all the results of an execution are joined under a single lock.
+     * Results that cannot be deserialized or whose execution is skipped are dropped.
+     */
+    private Map<String, List<WorkerTaskResult>> groupByExecution(List<Either<WorkerTaskResult, DeserializationException>> eithers) {
+        Map<String, List<WorkerTaskResult>> grouped = new LinkedHashMap<>();
+        for (Either<WorkerTaskResult, DeserializationException> either : eithers) {
+            if (either.isRight()) {
+                log.error("Unable to deserialize a worker task result: {}", either.getRight().getMessage(), either.getRight());
+                continue;
+            }
+
+            WorkerTaskResult message = either.getLeft();
+            if (skipExecutionService.skipExecution(message.getTaskRun())) {
+                log.warn("Skipping execution {}", message.getTaskRun().getExecutionId());
+                continue;
+            }
+
+            grouped.computeIfAbsent(message.getTaskRun().getExecutionId(), k -> new ArrayList<>()).add(message);
+        }
+
+        return grouped;
+    }
+
+    /**
+     * Join all the worker task results of an execution under a single lock, so the execution is only fetched, updated and emitted once.
+     */
+    private void workerTaskResultQueue(String executionId, List<WorkerTaskResult> messages) {
+        if (messages.size() == 1) {
+            this.workerTaskResultQueue(Either.left(messages.getFirst()));
+            return;
+        }
+
+        if (log.isDebugEnabled()) {
+            messages.forEach(message -> executorService.log(log, true, message));
+        }
+
+        // if a result fails, none are persisted and they are all joined one by one, so only the failed one fails the execution
+        AtomicBoolean failed = new AtomicBoolean(false);
+        long lockNanos = phaseStart();
+        Executor executor = executionRepository.lock(executionId, pair -> {
+            executorService.recordPhase("lock_wait", lockNanos);
+            Execution execution = pair.getLeft();
+            Executor current = new Executor(execution, null);
+
+            if (execution == null) {
+                throw new IllegalStateException("Execution state don't exist for " + executionId + ", receive " + messages.size() + " worker task results");
+            }
+
+            failed.set(false);
+            try {
+                return executorService.addWorkerTaskResults(current, () -> findFlow(execution), messages) ? Pair.of(current, pair.getRight()) : null;
+            } catch (InternalException e) {
+                failed.set(true);
+                return null;
+            }
+        });
+        executorService.recordPhase("lock", lockNanos);
+
+        if (failed.get()) {
+            messages.forEach(message -> this.workerTaskResultQueue(Either.left(message)));
+            return;
+        }
 
         if (executor != null) {
             this.toExecution(executor);
@@ -1068,7 +1347,33 @@ public class JdbcExecutor implements ExecutorInterface {
         toExecution(executor, false);
     }
 
+    /**
+     * The cached storage never reads the windows back from the database, so executors sharing the database would overwrite each other's windows.
+     * It's only used on standalone, or when the operator guarantees that this is the only executor.
+     */
+    private boolean useMultipleConditionCache() {
+        if (!multipleConditionCacheEnabled) {
+            return false;
+        }
+
+        if (ServerType.STANDALONE.name().equals(serverType) || multipleConditionCacheSingleExecutor) {
+            return true;
+        }
+
+        log.warn("The multiple condition cache is ignored as other executors may share the database, " +
+            "set 'kestra.jdbc.executor.multiple-condition-cache.single-executor' to true if this is the only executor");
+        return false;
+    }
+
+    /**
+     * Start of a phase for {@link ExecutorService#recordPhase(String, long)}, the clock is not read when phase metrics are disabled.
+     */
+    private long phaseStart() {
+        return executorService.isPhaseMetricsEnabled() ? System.nanoTime() : 0L;
+    }
+
     private void toExecution(Executor executor, boolean ignoreFailure) {
+        long nanos = phaseStart();
         try {
             boolean shouldSend = false;
             boolean hasFailure = false;
@@ -1125,16 +1430,20 @@ public class JdbcExecutor implements ExecutorInterface {
             }
 
             // emit for other consumers than the executor if no failure
+            long emitNanos = phaseStart();
             if (hasFailure) {
                 this.executionQueue.emit(executor.getExecution());
             } else {
                 ((JdbcQueue<Execution>) this.executionQueue).emitOnly(null, executor.getExecution());
             }
+            executorService.recordPhase("emit_execution", emitNanos);
 
             Execution execution = executor.getExecution();
             // handle flow triggers on state change
             if (!execution.getState().getCurrent().equals(executor.getOriginalState())) {
+                long flowTriggersNanos = phaseStart();
                 processFlowTriggers(execution);
+                executorService.recordPhase("flow_triggers", flowTriggersNanos);
             }
 
             // handle actions on terminated state
@@ -1149,7 +1458,9 @@ public class JdbcExecutor implements ExecutorInterface {
                     Map<String, Object> outputs = (Map<String, Object>) execution.getTrigger().getVariables().get("taskRunOutputs");
                     Variables variables = variablesService.of(StorageContext.forExecution(executor.getExecution()), outputs);
                     SubflowExecutionEnd subflowExecutionEnd = new SubflowExecutionEnd(executor.getExecution(), parentExecutionId, taskRunId, taskId, execution.getState().getCurrent(), variables);
+                    long emitEndNanos = phaseStart();
                     this.subflowExecutionEndQueue.emit(subflowExecutionEnd);
+                    executorService.recordPhase("emit_subflow_execution_end", emitEndNanos);
                 }
 
                 // purge SLA monitors
@@ -1224,18 +1535,24 @@ public class JdbcExecutor implements ExecutorInterface {
                     return null;
                 });
             }
+        } finally {
+            executorService.recordPhase("to_execution", nanos);
         }
     }
 
     private void processFlowTriggers(Execution execution) throws QueueException {
+        List<FlowTriggerService.FlowWithFlowTrigger> flowTriggers = flowTriggerIndex != null ?
+            flowTriggerIndex.candidates(execution) :
+            flowTriggerService.withFlowTriggersOnly(allFlows.stream()).toList();
+
         // directly process simple conditions
-        flowTriggerService.withFlowTriggersOnly(allFlows.stream())
+        flowTriggers.stream()
             .filter(f ->ListUtils.emptyOnNull(f.getTrigger().getConditions()).stream().noneMatch(c -> c instanceof MultipleCondition) && f.getTrigger().getPreconditions() == null)
             .flatMap(f -> flowTriggerService.computeExecutionsFromFlowTriggers(execution, List.of(f.getFlow()), Optional.empty()).stream())
             .forEach(throwConsumer(exec -> executionQueue.emit(exec)));
 
         // send multiple conditions to the multiple condition queue for later processing
-        flowTriggerService.withFlowTriggersOnly(allFlows.stream())
+        flowTriggers.stream()
             .filter(f -> ListUtils.emptyOnNull(f.getTrigger().getConditions()).stream().anyMatch(c -> c instanceof MultipleCondition) || f.getTrigger().getPreconditions() != null)
             .map(f -> new MultipleConditionEvent(f.getFlow(), execution))
             .forEach(throwConsumer(multipleCondition -> multipleConditionEventQueue.emit(multipleCondition)));
@@ -1260,6 +1577,34 @@ public class JdbcExecutor implements ExecutorInterface {
         return flowWithSource;
     }
 
+    private void saveExecutionDelay(ExecutionDelay executionDelay) {
+        executionDelayStorage.save(executionDelay);
+
+        if (this.executionDelayTimer != null) {
+            this.executionDelayTimer.schedule(executionDelay.getDate(), executionDelay.getDate());
+        }
+    }
+
+    /**
+     * Called by the timer wheel when a delay is due, delays due at the same time are sent by a single call to {@link #executionDelaySend()}.
+     */
+    private void executionDelayDue() {
+        if (this.shutdown.get() || !this.executionDelaySendPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        scheduledDelay.execute(() -> {
+            this.executionDelaySendPending.set(false);
+
+            try {
+                this.executionDelaySend();
+            } catch (Exception e) {
+                // the delays are still sent by the next recovery poll
+                log.error("Unable to send the due execution delays", e);
+            }
+        });
+    }
+
     /**
      * ExecutionDelay is currently two types of execution:
      * <br/>
@@ -1448,6 +1793,20 @@ public class JdbcExecutor implements ExecutorInterface {
         return executor.withExecution(failedExecutionWithLog.getExecution(), "exception");
     }
 
+    private void awaitPartitionedExecutor(KeyPartitionedExecutor partitionedExecutor) {
+        if (partitionedExecutor == null) {
+            return;
+        }
+
+        try {
+            if (!partitionedExecutor.awaitCompletion(Duration.ofMinutes(1))) {
+                log.warn("{} message(s) are still being processed after the termination grace period", partitionedExecutor.inFlight());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * {@inheritDoc}
      **/
@@ -1461,6 +1820,14 @@ public class JdbcExecutor implements ExecutorInterface {
 
             setState(ServiceState.TERMINATING);
             this.receiveCancellations.forEach(Runnable::run);
+            awaitPartitionedExecutor(executionPartitionedExecutor);
+            awaitPartitionedExecutor(workerTaskResultPartitionedExecutor);
+            if (executionDelayTimer != null) {
+                executionDelayTimer.close();
+            }
+            if (multipleConditionStorage instanceof CachedMultipleConditionStorage cachedMultipleConditionStorage) {
+                cachedMultipleConditionStorage.close();
+            }
             ExecutorsUtils.closeScheduledThreadPool(scheduledDelay, Duration.ofSeconds(5), List.of(executionDelayFuture, monitorSLAFuture));
             setState(ServiceState.TERMINATED_GRACEFULLY);
 
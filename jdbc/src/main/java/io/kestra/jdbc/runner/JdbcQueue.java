@@ -6,6 +6,7 @@ import com.google.common.base.CaseFormat;
 import com.google.common.collect.Iterables;
 import io.kestra.core.exceptions.DeserializationException;
 import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.ServerType;
 import io.kestra.core.models.executions.Execution;
 import io.kestra.core.queues.*;
 import io.kestra.core.utils.Either;
@@ -30,16 +31,26 @@ import org.jooq.impl.DSL;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
-import static io.kestra.core.utils.Rethrow.throwConsumer;
 import static io.kestra.core.utils.Rethrow.throwRunnable;
 
 @Slf4j
@@ -60,19 +71,33 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
     protected final MessageProtectionConfiguration messageProtectionConfiguration;
 
+    protected final MessageCodecConfiguration messageCodecConfiguration;
+
+    private final boolean binaryCodec;
+
     private final MetricRegistry metricRegistry;
 
     protected final Table<Record> table;
 
+    protected final Table<Record> offsetsTable;
+
     protected final JdbcQueueIndexer jdbcQueueIndexer;
 
     private final boolean immediateRepoll;
 
+    private final boolean localWakeup;
+
+    private final JdbcQueueSignal localSignal = new JdbcQueueSignal();
+
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
     private final AtomicBoolean isPaused = new AtomicBoolean(false);
 
     private final Counter bigMessageCounter;
 
+    private final Timer serializeTimer;
+
+    private ScheduledExecutorService backlogExecutor;
+
     public JdbcQueue(Class<T> cls, ApplicationContext applicationContext) {
         ExecutorsUtils executorsUtils = applicationContext.getBean(ExecutorsUtils.class);
         this.poolExecutor = executorsUtils.cachedThreadPool("jdbc-queue-" + cls.getSimpleName());
@@ -83,29 +108,46 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         this.dslContextWrapper = applicationContext.getBean(JooqDSLContextWrapper.class);
         this.configuration = applicationContext.getBean(Configuration.class);
         this.messageProtectionConfiguration = applicationContext.getBean(MessageProtectionConfiguration.class);
+        this.messageCodecConfiguration = applicationContext.getBean(MessageCodecConfiguration.class);
+        this.binaryCodec = this.messageCodecConfiguration.isEnabled(queueType());
         this.metricRegistry = applicationContext.getBean(MetricRegistry.class);
 
         JdbcTableConfigs jdbcTableConfigs = applicationContext.getBean(JdbcTableConfigs.class);
 
         this.table = DSL.table(jdbcTableConfigs.tableConfig("queues").table());
+        this.offsetsTable = DSL.table(jdbcTableConfigs.tableConfig("queue_offsets").table());
 
         this.jdbcQueueIndexer = applicationContext.getBean(JdbcQueueIndexer.class);
 
         this.immediateRepoll = applicationContext.getProperty("kestra.jdbc.queues.immediate-repoll", Boolean.class).orElse(true);
 
+        // on standalone, all producers and consumers live in this JVM and share this queue instance, so they can be woken up without a database round-trip
+        boolean standalone = applicationContext.getProperty("kestra.server-type", ServerType.class)
+            .map(serverType -> serverType == ServerType.STANDALONE)
+            .orElse(false);
+        this.localWakeup = applicationContext.getProperty("kestra.jdbc.queues.local-wakeup.enabled", Boolean.class).orElse(standalone);
+
         // init metrics we can at post construct to avoid costly Metric.Id computation
         this.bigMessageCounter = metricRegistry
             .counter(MetricRegistry.METRIC_QUEUE_BIG_MESSAGE_COUNT, MetricRegistry.METRIC_QUEUE_BIG_MESSAGE_COUNT_DESCRIPTION, MetricRegistry.TAG_CLASS_NAME, queueType());
+        this.serializeTimer = applicationContext.getProperty("kestra.jdbc.queues.serialization-metrics.enabled", Boolean.class).orElse(false) ?
+            metricRegistry.timer(MetricRegistry.METRIC_QUEUE_SERIALIZE_DURATION, MetricRegistry.METRIC_QUEUE_SERIALIZE_DURATION_DESCRIPTION, MetricRegistry.TAG_CLASS_NAME, queueType()) :
+            null;
     }
 
     protected Map<Field<Object>, Object> produceFields(String consumerGroup, String key, T message) throws QueueException {
         byte[] bytes;
+        long nanos = System.nanoTime();
         try {
-            bytes = MAPPER.writeValueAsBytes(message);
-        } catch (JsonProcessingException e) {
+            bytes = binaryCodec ? MessageCodec.encode(message, messageCodecConfiguration.getCompressionThreshold()) : MAPPER.writeValueAsBytes(message);
+        } catch (IOException e) {
             throw new QueueException("Unable to serialize the message", e);
         }
 
+        if (this.serializeTimer != null) {
+            this.serializeTimer.record(System.nanoTime() - nanos, TimeUnit.NANOSECONDS);
+        }
+
         if (messageProtectionConfiguration.enabled && bytes.length >= messageProtectionConfiguration.limit) {
             this.bigMessageCounter.increment();
 
@@ -119,7 +161,11 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         Map<Field<Object>, Object> fields = new HashMap<>();
         fields.put(AbstractJdbcRepository.field("type"), queueType());
         fields.put(AbstractJdbcRepository.field("key"), key != null ? key : IdUtils.create());
-        fields.put(AbstractJdbcRepository.field("value"), JSONB.valueOf(new String(bytes)));
+        if (binaryCodec) {
+            fields.put(AbstractJdbcRepository.field("value_binary"), bytes);
+        } else {
+            fields.put(AbstractJdbcRepository.field("value"), JSONB.valueOf(new String(bytes)));
+        }
 
         if (consumerGroup != null) {
             fields.put(AbstractJdbcRepository.field("consumer_group"), consumerGroup);
@@ -147,7 +193,11 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
                     .insertInto(table)
                     .set(fields)
                     .execute();
+
+                this.notifyConsumers(context);
             });
+
+            this.wakeupLocalConsumers();
         } catch (DataException e) { // The exception is from the data itself, not the database/network/driver so instead of fail fast, we throw a recoverable QueueException
             // Postgres refuses to store JSONB with the '\0000' codepoint as it has no textual representation.
             // We try to detect that and fail with a specific exception so the Worker can recover from it.
@@ -164,6 +214,75 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
             .increment();
     }
 
+    private void produce(String consumerGroup, List<T> messages) throws QueueException {
+        if (log.isTraceEnabled()) {
+            log.trace("New messages: topic '{}', size {}", queueType(), messages.size());
+        }
+
+        // a message that cannot be produced must not prevent the others to be, so we keep the first error and throw it at the end
+        QueueException failure = null;
+        List<T> produced = new ArrayList<>(messages.size());
+        List<Map<Field<Object>, Object>> rows = new ArrayList<>(messages.size());
+        for (T message : messages) {
+            try {
+                rows.add(this.produceFields(consumerGroup, queueService.key(message), message));
+                produced.add(message);
+            } catch (QueueException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+
+        for (int start = 0; start < rows.size(); start += configuration.getProduceBatchSize()) {
+            int end = Math.min(start + configuration.getProduceBatchSize(), rows.size());
+            List<T> batchMessages = produced.subList(start, end);
+            List<Map<Field<Object>, Object>> batchRows = rows.subList(start, end);
+
+            try {
+                dslContextWrapper.transaction(configuration -> {
+                    DSLContext context = DSL.using(configuration);
+
+                    batchMessages.forEach(message -> jdbcQueueIndexer.accept(context, message));
+
+                    InsertSetMoreStep<Record> insert = context
+                        .insertInto(table)
+                        .set(batchRows.getFirst());
+                    for (Map<Field<Object>, Object> row : batchRows.subList(1, batchRows.size())) {
+                        insert = insert.newRecord().set(row);
+                    }
+                    insert.execute();
+
+                    this.notifyConsumers(context);
+                });
+
+                this.wakeupLocalConsumers();
+            } catch (DataException e) {
+                // The exception is from the data of one of the messages, we fall back to emit them one by one, so only the faulty one fails
+                for (T message : batchMessages) {
+                    try {
+                        this.produce(consumerGroup, queueService.key(message), message, false);
+                    } catch (QueueException queueException) {
+                        if (failure == null) {
+                            failure = queueException;
+                        }
+                    }
+                }
+                continue;
+            }
+
+            String[] tags = consumerGroup == null ? new String [] { MetricRegistry.TAG_QUEUE_TYPE, queueType() } :
+                new String [] { MetricRegistry.TAG_QUEUE_TYPE, queueType(), MetricRegistry.TAG_QUEUE_CONSUMER_GROUP, consumerGroup };
+            metricRegistry
+                .counter(MetricRegistry.METRIC_QUEUE_PRODUCE_COUNT, MetricRegistry.METRIC_QUEUE_PRODUCE_COUNT_DESCRIPTION, tags)
+                .increment(batchMessages.size());
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     public void emitOnly(String consumerGroup, T message) throws QueueException{
         this.produce(consumerGroup, queueService.key(message), message, true);
     }
@@ -173,9 +292,23 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         this.produce(consumerGroup, queueService.key(message), message, false);
     }
 
+    @Override
+    public void emit(String consumerGroup, List<T> messages) throws QueueException {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        if (messages.size() == 1) {
+            this.emit(consumerGroup, messages.getFirst());
+            return;
+        }
+
+        this.produce(consumerGroup, messages);
+    }
+
     @Override
     public void emitAsync(String consumerGroup, List<T> messages) throws QueueException {
-        this.asyncPoolExecutor.submit(throwRunnable(() -> messages.forEach(throwConsumer(message -> this.emit(consumerGroup, message)))));
+        this.asyncPoolExecutor.submit(throwRunnable(() -> this.emit(consumerGroup, messages)));
     }
 
     @Override
@@ -229,9 +362,15 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
     }
 
     protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, Integer offset, boolean forUpdate) {
+        return this.receiveFetch(ctx, consumerGroup, offset, forUpdate, configuration.getPollSize());
+    }
+
+    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, Integer offset, boolean forUpdate, int pollSize) {
         var select = ctx.select(
                 AbstractJdbcRepository.field("value"),
-                AbstractJdbcRepository.field("offset")
+                AbstractJdbcRepository.field("value_binary"),
+                AbstractJdbcRepository.field("offset"),
+                AbstractJdbcRepository.field("created")
             )
             .from(this.table)
             .where(buildTypeCondition(queueType()));
@@ -248,8 +387,8 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
-            .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+            .limit(pollSize);
+        ResultQuery<Record4<Object, Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
@@ -264,12 +403,151 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         return this.receiveFetch(ctx, consumerGroup, queueType, true);
     }
 
-    abstract protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate);
+    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate) {
+        return this.receiveFetch(ctx, consumerGroup, queueType, forUpdate, configuration.getPollSize());
+    }
+
+    protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate, int pollSize) {
+        return this.receiveFetch(ctx, consumerGroup, queueType, forUpdate, pollSize, Collections.emptyList());
+    }
+
+    /**
+     * Fetch the messages not yet consumed by the consumer <code>queueType</code>, skipping the <code>inFlight</code> offsets:
+     * messages already received but still being processed, that are flagged as consumed once processed.
+     */
+    abstract protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate, int pollSize, Collection<Integer> inFlight);
 
     abstract protected void updateGroupOffsets(DSLContext ctx, String consumerGroup, String queueType, List<Integer> offsets);
 
     protected abstract Condition buildTypeCondition(String type);
 
+    /**
+     * Build the condition selecting the messages not yet consumed by the consumer <code>queueType</code>.
+     */
+    protected abstract Condition buildConsumerCondition(String queueType);
+
+    /**
+     * Whether the database supports tracking the last consumed offset of a consumer in the <code>queue_offsets</code> table,
+     * instead of flagging each consumed message.
+     */
+    protected boolean supportsConsumerOffsets() {
+        return false;
+    }
+
+    private boolean useConsumerOffsets(String queueName) {
+        return this.supportsConsumerOffsets() && configuration.getConsumerOffsets().contains(queueName);
+    }
+
+    private Condition consumerOffsetCondition(String consumerGroup, String queueName) {
+        return AbstractJdbcRepository.field("type").eq(queueType())
+            .and(AbstractJdbcRepository.field("consumer").eq(queueName))
+            .and(AbstractJdbcRepository.field("consumer_group").eq(consumerGroup == null ? "" : consumerGroup));
+    }
+
+    /**
+     * Lock the position of the consumer for the duration of the transaction, so only one instance consumes at a time, and return it.
+     * When the consumer has no position yet, it starts before the first message not flagged as consumed, so switching an existing consumer
+     * to offset tracking doesn't lose nor replay messages.
+     */
+    private QueueConsumerOffset lockConsumerOffset(DSLContext ctx, String consumerGroup, String queueName) {
+        Record2<Long, String> position = this.selectConsumerOffset(ctx, consumerGroup, queueName);
+        if (position != null) {
+            return QueueConsumerOffset.of(position.value1(), position.value2());
+        }
+
+        Condition groupCondition = consumerGroup == null ? AbstractJdbcRepository.field("consumer_group").isNull() : AbstractJdbcRepository.field("consumer_group").eq(consumerGroup);
+        Long firstPending = ctx.select(DSL.min(AbstractJdbcRepository.field("offset")))
+            .from(this.table)
+            .where(buildTypeCondition(queueType()))
+            .and(buildConsumerCondition(queueName))
+            .and(groupCondition)
+            .fetchOne(0, Long.class);
+        Long last = ctx.select(DSL.max(AbstractJdbcRepository.field("offset")))
+            .from(this.table)
+            .where(buildTypeCondition(queueType()))
+            .and(groupCondition)
+            .fetchOne(0, Long.class);
+        long initial = firstPending != null ? firstPending - 1 : (last != null ? last : 0L);
+
+        ctx.insertInto(this.offsetsTable)
+            .set(AbstractJdbcRepository.field("type"), queueType())
+            .set(AbstractJdbcRepository.field("consumer"), queueName)
+            .set(AbstractJdbcRepository.field("consumer_group"), consumerGroup == null ? "" : consumerGroup)
+            .set(AbstractJdbcRepository.field("offset"), initial)
+            .set(AbstractJdbcRepository.field("updated"), LocalDateTime.now())
+            .onDuplicateKeyIgnore()
+            .execute();
+
+        // another instance may have initialized it concurrently
+        position = this.selectConsumerOffset(ctx, consumerGroup, queueName);
+        return QueueConsumerOffset.of(position.value1(), position.value2());
+    }
+
+    private Record2<Long, String> selectConsumerOffset(DSLContext ctx, String consumerGroup, String queueName) {
+        return ctx.select(AbstractJdbcRepository.field("offset", Long.class), AbstractJdbcRepository.field("pending", String.class))
+            .from(this.offsetsTable)
+            .where(consumerOffsetCondition(consumerGroup, queueName))
+            .forUpdate()
+            .fetchOne();
+    }
+
+    private void commitConsumerOffset(DSLContext ctx, String consumerGroup, String queueName, QueueConsumerOffset consumerOffset) {
+        ctx.update(this.offsetsTable)
+            .set(AbstractJdbcRepository.field("offset"), consumerOffset.offset())
+            .set(AbstractJdbcRepository.field("pending"), consumerOffset.serializePending())
+            .set(AbstractJdbcRepository.field("updated"), LocalDateTime.now())
+            .where(consumerOffsetCondition(consumerGroup, queueName))
+            .execute();
+    }
+
+    /**
+     * Fetch the messages after the consumer position, and the pending ones that became visible, see {@link QueueConsumerOffset}.<p>
+     * Offsets are shared by all queue types, so a message of another type or consumer group must not be taken for a message not visible yet.
+     * So we first scan the offsets of all visible messages after the position with a range scan on the primary key, in a single statement
+     * to get a consistent view of what is visible, then fetch the messages of the consumer among them.
+     * A message committed late is then consumed after messages with a greater offset, instead of being missed.
+     */
+    private Result<Record> receiveFetchFromOffset(DSLContext ctx, String consumerGroup, QueueConsumerOffset consumerOffset, int pollSize) {
+        long now = System.currentTimeMillis();
+        consumerOffset.expire(now);
+
+        Field<Long> offsetField = AbstractJdbcRepository.field("offset", Long.class);
+        Condition groupCondition = consumerGroup == null ? AbstractJdbcRepository.field("consumer_group").isNull() : AbstractJdbcRepository.field("consumer_group").eq(consumerGroup);
+        Condition position = offsetField.gt(consumerOffset.offset());
+        if (!consumerOffset.pending().isEmpty()) {
+            position = position.or(offsetField.in(consumerOffset.pending()));
+        }
+
+        List<QueueConsumerOffset.Scanned> scanned = ctx.select(offsetField, DSL.field(buildTypeCondition(queueType()).and(groupCondition)))
+            .from(this.table)
+            .where(position)
+            .orderBy(offsetField.asc())
+            .limit(configuration.getConsumerOffsetsScanSize())
+            .fetch(record -> new QueueConsumerOffset.Scanned(record.value1(), Boolean.TRUE.equals(record.value2())));
+
+        List<Long> selected = consumerOffset.advance(
+            scanned,
+            pollSize,
+            now + configuration.getConsumerOffsetsGapTimeout().toMillis(),
+            configuration.getConsumerOffsetsMaxPending()
+        );
+        if (selected.isEmpty()) {
+            return ctx.newResult();
+        }
+
+        return ctx.select(
+                AbstractJdbcRepository.field("value"),
+                AbstractJdbcRepository.field("value_binary"),
+                AbstractJdbcRepository.field("offset"),
+                AbstractJdbcRepository.field("created")
+            )
+            .from(this.table)
+            .where(offsetField.in(selected))
+            .orderBy(offsetField.asc())
+            .fetchMany()
+            .getFirst();
+    }
+
     @Override
     public Runnable receive(String consumerGroup, Consumer<Either<T, DeserializationException>> consumer, boolean forUpdate) {
         String[] tags = consumerGroup == null ? new String [] { MetricRegistry.TAG_QUEUE_TYPE, queueType() } :
@@ -301,11 +579,16 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
         Timer timer = this.metricRegistry
             .timer(MetricRegistry.METRIC_QUEUE_RECEIVE_DURATION, MetricRegistry.METRIC_QUEUE_RECEIVE_DURATION_DESCRIPTION, tags);
-        return this.poll(() -> timer.record(() -> {
+        Timer latencyTimer = this.metricRegistry
+            .timer(MetricRegistry.METRIC_QUEUE_CONSUME_LATENCY, MetricRegistry.METRIC_QUEUE_CONSUME_LATENCY_DESCRIPTION, tags);
+        AdaptivePollController controller = this.adaptivePollController(tags);
+        return this.poll(controller, () -> timer.record(() -> {
+            int limit = controller != null ? controller.pollSize() : configuration.getPollSize();
+            long start = System.nanoTime();
             Result<Record> fetch = dslContextWrapper.transactionResult(configuration -> {
                 DSLContext ctx = DSL.using(configuration);
 
-                Result<Record> result = this.receiveFetch(ctx, consumerGroup, maxOffset.get(), forUpdate);
+                Result<Record> result = this.receiveFetch(ctx, consumerGroup, maxOffset.get(), forUpdate, limit);
 
                 if (!result.isEmpty()) {
                     List<Integer> offsets = result.map(record -> record.get("offset", Integer.class));
@@ -315,8 +598,14 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
                 return result;
             });
+            long transaction = System.nanoTime() - start;
 
             this.send(fetch, consumer);
+            this.recordLatency(fetch, latencyTimer);
+
+            if (controller != null) {
+                controller.onPoll(fetch.size(), limit, Duration.ofNanos(transaction), Duration.ofNanos(System.nanoTime() - start - transaction));
+            }
 
             pollSize.set(fetch.size());
             return fetch.size();
@@ -356,6 +645,21 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         );
     }
 
+    /**
+     * Receive messages by batch, the consumer returns a future completed once the batch is processed instead of processing it synchronously.<p>
+     * The next batch is polled without waiting for the previous one, but the messages of a batch are flagged as consumed only once its future completes,
+     * whether normally or exceptionally: the messages being processed are skipped by the following polls, and received again if the instance stops before.
+     */
+    public Runnable receiveBatchAsync(Class<?> queueType, Function<List<Either<T, DeserializationException>>, CompletableFuture<?>> consumer) {
+        return this.receiveImpl(
+            null,
+            queueType,
+            (dslContext, eithers) -> consumer.apply(eithers),
+            false,
+            true
+        );
+    }
+
     public Runnable receiveTransaction(String consumerGroup, Class<?> queueType, BiConsumer<DSLContext, List<Either<T, DeserializationException>>> consumer) {
         return this.receiveImpl(
             consumerGroup,
@@ -372,6 +676,28 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         BiConsumer<DSLContext, List<Either<T, DeserializationException>>> consumer,
         Boolean inTransaction,
         boolean forUpdate
+    ) {
+        return this.receiveImpl(
+            consumerGroup,
+            queueType,
+            (dslContext, eithers) -> {
+                consumer.accept(dslContext, eithers);
+                return null;
+            },
+            inTransaction,
+            forUpdate
+        );
+    }
+
+    /**
+     * @param consumer returns a future completed once the messages are processed, or null if they are processed synchronously.
+     */
+    private Runnable receiveImpl(
+        String consumerGroup,
+        Class<?> queueType,
+        BiFunction<DSLContext, List<Either<T, DeserializationException>>, CompletableFuture<?>> consumer,
+        Boolean inTransaction,
+        boolean forUpdate
     ) {
         String queueName = queueName(queueType);
         String[] tags = consumerGroup == null ? new String [] { MetricRegistry.TAG_QUEUE_TYPE, queueType(), MetricRegistry.TAG_QUEUE_CONSUMER, queueName } :
@@ -382,14 +708,42 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
         Timer timer = this.metricRegistry
             .timer(MetricRegistry.METRIC_QUEUE_RECEIVE_DURATION, MetricRegistry.METRIC_QUEUE_RECEIVE_DURATION_DESCRIPTION, tags);
-        return this.poll(() -> timer.record(() -> {
+        Timer latencyTimer = this.metricRegistry
+            .timer(MetricRegistry.METRIC_QUEUE_CONSUME_LATENCY, MetricRegistry.METRIC_QUEUE_CONSUME_LATENCY_DESCRIPTION, tags);
+        Runnable cancelSampler = this.sampleBacklog(consumerGroup, queueName, tags);
+        AdaptivePollController controller = this.adaptivePollController(tags);
+        boolean consumerOffsets = this.useConsumerOffsets(queueName);
+        Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+        Runnable cancelPoll = this.poll(controller, () -> timer.record(() -> {
+            int limit = controller != null ? controller.pollSize() : configuration.getPollSize();
+            long start = System.nanoTime();
+            AtomicBoolean moved = new AtomicBoolean(false);
             Result<Record> fetch = dslContextWrapper.transactionResult(configuration -> {
                 DSLContext ctx = DSL.using(configuration);
 
-                Result<Record> result = this.receiveFetch(ctx, consumerGroup, queueName, forUpdate);
+                if (consumerOffsets) {
+                    // the consumer runs inside the transaction holding the offset lock, whatever the receive mode, so only one instance consumes a message
+                    QueueConsumerOffset consumerOffset = this.lockConsumerOffset(ctx, consumerGroup, queueName);
+                    Result<Record> result = this.receiveFetchFromOffset(ctx, consumerGroup, consumerOffset, limit);
+                    if (!result.isEmpty() || !inTransaction) {
+                        CompletableFuture<?> processed = consumer.apply(inTransaction ? ctx : null, this.map(result));
+                        if (processed != null) {
+                            // the position is committed with the transaction, so it can only move once the messages are processed
+                            processed.exceptionally(throwable -> null).join();
+                        }
+                    }
+                    if (consumerOffset.changed()) {
+                        this.commitConsumerOffset(ctx, consumerGroup, queueName, consumerOffset);
+                        moved.set(true);
+                    }
+
+                    return result;
+                }
+
+                Result<Record> result = this.receiveFetch(ctx, consumerGroup, queueName, forUpdate, limit, List.copyOf(inFlight));
 
                 if (!result.isEmpty() && inTransaction) {
-                    consumer.accept(ctx, this.map(result));
+                    consumer.apply(ctx, this.map(result));
                     this.updateGroupOffsets(
                         ctx,
                         consumerGroup,
@@ -400,21 +754,172 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
                 return result;
             });
+            long transaction = System.nanoTime() - start;
+
+            if (!inTransaction && !consumerOffsets) {
+                List<Integer> offsets = fetch.map(record -> record.get("offset", Integer.class));
+                CompletableFuture<?> processed = consumer.apply(null, this.map(fetch));
+                if (processed == null) {
+                    dslContextWrapper.transaction(configuration ->
+                        this.updateGroupOffsets(DSL.using(configuration), consumerGroup, queueName, offsets)
+                    );
+                } else if (!offsets.isEmpty()) {
+                    inFlight.addAll(offsets);
+                    processed.whenComplete((ignored, throwable) -> {
+                        try {
+                            dslContextWrapper.transaction(configuration ->
+                                this.updateGroupOffsets(DSL.using(configuration), consumerGroup, queueName, offsets)
+                            );
+                        } catch (Exception e) {
+                            log.error("Unable to flag {} processed message(s) as consumed, they will be received again", offsets.size(), e);
+                        } finally {
+                            inFlight.removeAll(offsets);
+                        }
+                    });
+                }
+            }
+            this.recordLatency(fetch, latencyTimer);
 
-            if (!inTransaction) {
-                consumer.accept(null, this.map(fetch));
-                dslContextWrapper.transaction(configuration ->
-                    this.updateGroupOffsets(
-                        DSL.using(configuration),
-                        consumerGroup,
-                        queueName,
-                        fetch.map(record -> record.get("offset", Integer.class))
-                    ));
+            if (controller != null) {
+                controller.onPoll(fetch.size(), limit, Duration.ofNanos(transaction), Duration.ofNanos(System.nanoTime() - start - transaction));
             }
 
             pollSize.set(fetch.size());
-            return fetch.size();
+            // the position moved over messages of other consumers, more messages of this one may follow so we poll again without waiting
+            return fetch.isEmpty() && moved.get() ? 1 : fetch.size();
         }));
+
+        return () -> {
+            cancelPoll.run();
+            cancelSampler.run();
+        };
+    }
+
+    private void recordLatency(Result<Record> fetch, Timer latencyTimer) {
+        Instant now = Instant.now();
+        fetch.forEach(record -> {
+            Instant created = record.get("created", Instant.class);
+            // messages produced before the 'created' column was added have no creation date
+            if (created != null) {
+                latencyTimer.record(Duration.between(created, now));
+            }
+        });
+    }
+
+    /**
+     * Create the controller of a poll loop when adaptive polling is enabled, and publish its decisions as gauges.
+     *
+     * @return the controller, or null if adaptive polling is disabled.
+     */
+    private AdaptivePollController adaptivePollController(String[] tags) {
+        if (!configuration.getAdaptivePolling()) {
+            return null;
+        }
+
+        AdaptivePollController controller = new AdaptivePollController(configuration);
+        this.metricRegistry
+            .gauge(MetricRegistry.METRIC_QUEUE_ADAPTIVE_POLL_SIZE, MetricRegistry.METRIC_QUEUE_ADAPTIVE_POLL_SIZE_DESCRIPTION, controller.pollSizeGauge(), tags);
+        this.metricRegistry
+            .gauge(MetricRegistry.METRIC_QUEUE_ADAPTIVE_POLL_INTERVAL, MetricRegistry.METRIC_QUEUE_ADAPTIVE_POLL_INTERVAL_DESCRIPTION, controller.pollIntervalGauge(), tags);
+
+        return controller;
+    }
+
+    /**
+     * Periodically sample the backlog of a consumer when backlog sampling is enabled: the number of messages not yet consumed,
+     * capped to avoid costly counts, and the age of the oldest one.
+     *
+     * @return a runnable that stops the sampling.
+     */
+    private Runnable sampleBacklog(String consumerGroup, String queueName, String[] tags) {
+        Duration interval = configuration.getBacklogSamplingInterval();
+        if (!configuration.getBacklogSampling() || interval == null || interval.isZero() || interval.isNegative()) {
+            return () -> {};
+        }
+
+        AtomicLong size = this.metricRegistry
+            .gauge(MetricRegistry.METRIC_QUEUE_BACKLOG_SIZE, MetricRegistry.METRIC_QUEUE_BACKLOG_SIZE_DESCRIPTION, new AtomicLong(), tags);
+        AtomicLong age = this.metricRegistry
+            .gauge(MetricRegistry.METRIC_QUEUE_BACKLOG_AGE, MetricRegistry.METRIC_QUEUE_BACKLOG_AGE_DESCRIPTION, new AtomicLong(), tags);
+
+        ScheduledFuture<?> future = this.backlogExecutor().scheduleWithFixedDelay(
+            () -> {
+                try {
+                    Record2<Integer, Instant> backlog = dslContextWrapper.transactionResult(configuration -> {
+                        var select = DSL.using(configuration)
+                            .select(AbstractJdbcRepository.field("created"))
+                            .from(this.table)
+                            .where(buildTypeCondition(queueType()))
+                            .and(this.useConsumerOffsets(queueName) ?
+                                AbstractJdbcRepository.field("offset").gt(DSL.select(AbstractJdbcRepository.field("offset")).from(this.offsetsTable).where(consumerOffsetCondition(consumerGroup, queueName))) :
+                                buildConsumerCondition(queueName)
+                            )
+                            .and(consumerGroup == null ? AbstractJdbcRepository.field("consumer_group").isNull() : AbstractJdbcRepository.field("consumer_group").eq(consumerGroup))
+                            .orderBy(AbstractJdbcRepository.field("offset").asc())
+                            .limit(this.configuration.getBacklogSamplingLimit())
+                            .asTable("backlog");
+
+                        return DSL.using(configuration)
+                            .select(DSL.count(), DSL.min(select.field("created", Instant.class)))
+                            .from(select)
+                            .fetchOne();
+                    });
+
+                    size.set(backlog == null ? 0 : backlog.value1());
+                    Instant oldest = backlog == null ? null : backlog.value2();
+                    age.set(oldest == null ? 0 : Duration.between(oldest, Instant.now()).toSeconds());
+                } catch (Exception e) {
+                    log.debug("Unable to sample the backlog of queue '{}' for consumer '{}'", queueType(), queueName, e);
+                }
+            },
+            0,
+            interval.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+
+        return () -> future.cancel(false);
+    }
+
+    private synchronized ScheduledExecutorService backlogExecutor() {
+        if (this.backlogExecutor == null) {
+            this.backlogExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("jdbc-queue-backlog-" + cls.getSimpleName()).daemon(true).factory()
+            );
+        }
+
+        return this.backlogExecutor;
+    }
+
+    /**
+     * Hook called inside the produce transaction once the message is inserted,
+     * so implementations can wake up consumers waiting in {@link #pollWaiter()}.
+     */
+    protected void notifyConsumers(DSLContext context) {
+        // by default, consumers only rely on polling
+    }
+
+    /**
+     * Wake up the consumers of this JVM once a message is committed, the message itself is still delivered through the database.
+     */
+    private void wakeupLocalConsumers() {
+        if (localWakeup) {
+            localSignal.signal();
+        }
+    }
+
+    /**
+     * Create the waiter used by a poll loop between two polls.
+     * By default, it sleeps or, when local wake-up is enabled, it is woken up as soon as a message is produced in this JVM.
+     * Implementations can return a waiter that is woken up as soon as a message is produced by any instance.
+     */
+    protected PollWaiter pollWaiter() {
+        if (!localWakeup) {
+            return Thread::sleep;
+        }
+
+        // producers from other instances (e.g. a webserver started separately) are still caught by polling, so we keep the computed interval
+        JdbcQueueSignal.Waiter waiter = localSignal.waiter();
+        return waiter::await;
     }
 
     protected String queueName(Class<?> queueType) {
@@ -424,11 +929,19 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         );
     }
 
-    @SuppressWarnings("BusyWait")
     protected Runnable poll(Supplier<Integer> runnable) {
+        return this.poll(null, runnable);
+    }
+
+    /**
+     * Poll in loop, when a controller is given, it decides the interval between two polls instead of the configured steps.
+     */
+    @SuppressWarnings("BusyWait")
+    private Runnable poll(AdaptivePollController controller, Supplier<Integer> runnable) {
         AtomicBoolean running = new AtomicBoolean(true);
 
         poolExecutor.execute(() -> {
+            PollWaiter waiter = this.pollWaiter();
             List<Configuration.Step> steps = configuration.computeSteps();
             Duration sleep = configuration.minPollInterval;
             ZonedDateTime lastPoll = ZonedDateTime.now();
@@ -441,7 +954,7 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
                             sleep = configuration.minPollInterval;
                             if (immediateRepoll) {
                                 continue;
-                            } else if (count.equals(configuration.pollSize)) {
+                            } else if (controller != null ? controller.isFull() : count.equals(configuration.pollSize)) {
                                 // Note: this provides better latency on high throughput: when Kestra is a top capacity,
                                 // it will not do a sleep and immediately poll again.
                                 // We can even have better latency at even higher latency by continuing for positive count,
@@ -449,6 +962,8 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
                                 // Current impl balance database cost with latency.
                                 continue;
                             }
+                        } else if (controller != null) {
+                            sleep = controller.pollInterval();
                         } else {
                             ZonedDateTime finalLastPoll = lastPoll;
                             // get all poll steps which duration is less than the duration between last poll and now
@@ -466,7 +981,7 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
                 }
 
                 try {
-                    Thread.sleep(sleep);
+                    waiter.await(sleep);
                 } catch (InterruptedException e) {
                     throw new RuntimeException(e);
                 }
@@ -479,6 +994,11 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
     protected List<Either<T, DeserializationException>> map(Result<Record> fetch) {
         return fetch
             .map(record -> {
+                byte[] binary = record.get("value_binary", byte[].class);
+                if (binary != null) {
+                    return this.mapBinary(binary);
+                }
+
                 try {
                     return Either.left(MAPPER.readValue(record.get("value", String.class), cls));
                 } catch (JsonProcessingException e) {
@@ -487,6 +1007,17 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
             });
     }
 
+    /**
+     * Decode a message stored in the binary column, whatever the current codec configuration is, as messages may have been produced with another one.
+     */
+    protected Either<T, DeserializationException> mapBinary(byte[] binary) {
+        try {
+            return Either.left(MessageCodec.decode(binary, cls));
+        } catch (IOException e) {
+            return Either.right(new DeserializationException(e, MessageCodec.toJson(binary)));
+        }
+    }
+
     protected void send(Result<Record> fetch, Consumer<Either<T, DeserializationException>> consumer) {
         this.map(fetch)
             .forEach(consumer);
@@ -509,6 +1040,19 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         }
         this.poolExecutor.shutdown();
         this.asyncPoolExecutor.shutdown();
+        synchronized (this) {
+            if (this.backlogExecutor != null) {
+                this.backlogExecutor.shutdownNow();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    protected interface PollWaiter {
+        /**
+         * Wait up to the given duration before the next poll.
+         */
+        void await(Duration timeout) throws InterruptedException;
     }
 
     @ConfigurationProperties("kestra.jdbc.queues")
@@ -519,6 +1063,18 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         Duration pollSwitchInterval = Duration.ofSeconds(60);
         Integer pollSize = 100;
         Integer switchSteps = 5;
+        Integer produceBatchSize = 100;
+        Boolean backlogSampling = false;
+        Duration backlogSamplingInterval = Duration.ofSeconds(30);
+        Integer backlogSamplingLimit = 10_000;
+        Boolean adaptivePolling = false;
+        Integer minPollSize = 10;
+        Integer maxPollSize = 1000;
+        Duration adaptivePollTargetDuration = Duration.ofMillis(500);
+        List<String> consumerOffsets = List.of();
+        Integer consumerOffsetsScanSize = 1000;
+        Duration consumerOffsetsGapTimeout = Duration.ofMinutes(1);
+        Integer consumerOffsetsMaxPending = 1000;
 
         public List<Step> computeSteps() {
             if (this.maxPollInterval.compareTo(this.minPollInterval) <= 0) {
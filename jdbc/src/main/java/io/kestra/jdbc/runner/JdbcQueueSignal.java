@@ -0,0 +1,52 @@
+package io.kestra.jdbc.runner;
+
+import java.time.Duration;
+
+/**
+ * A signal used to wake up queue consumers waiting between two polls.<p>
+ * Each signal increments a generation, and each waiter tracks the last generation it has seen,
+ * so a signal received while the consumer was polling is never lost: the next wait returns immediately.
+ */
+public class JdbcQueueSignal {
+    private long generation = 0;
+
+    public synchronized void signal() {
+        generation++;
+        this.notifyAll();
+    }
+
+    /**
+     * Create a waiter, there must be one waiter by poll loop.
+     */
+    public synchronized Waiter waiter() {
+        return new Waiter(generation);
+    }
+
+    private synchronized long await(long seen, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (generation == seen) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            this.wait(Math.max(1, remaining / 1_000_000));
+        }
+
+        return generation;
+    }
+
+    public class Waiter {
+        private long seen;
+
+        private Waiter(long seen) {
+            this.seen = seen;
+        }
+
+        /**
+         * Wait until the signal is triggered or the timeout is reached.
+         */
+        public void await(Duration timeout) throws InterruptedException {
+            this.seen = JdbcQueueSignal.this.await(seen, timeout);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.kestra.jdbc.runner;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Run tasks on lanes selected by the hash of a key.<p>
+ * Tasks with the same key always go to the same lane where they are run one at a time, in submission order.
+ * Lanes are independent of each other, a slow task only delays the tasks of its own lane.
+ * The number of submitted but not yet completed tasks is bounded, so {@link #submit(String, Runnable)} blocks when the lanes are full.
+ */
+@Slf4j
+final class KeyPartitionedExecutor {
+    private final Executor executor;
+    private final Lane[] lanes;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    KeyPartitionedExecutor(Executor executor, int partitions, int maxInFlight) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("'partitions' must be greater than 0");
+        }
+
+        this.executor = executor;
+        this.lanes = new Lane[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.lanes[i] = new Lane();
+        }
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Submit a task on the lane of the key, block if the maximum number of tasks in flight is reached.
+     *
+     * @return a future completed once the task has run, errors are logged and never complete it exceptionally.
+     */
+    CompletableFuture<Void> submit(String key, Runnable task) throws InterruptedException {
+        this.inFlight.acquire();
+
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        Lane lane = this.lanes[Math.floorMod(key == null ? 0 : key.hashCode(), this.lanes.length)];
+        lane.tasks.add(() -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("Unexpected error while running a partitioned task", e);
+            } finally {
+                this.inFlight.release();
+                completed.complete(null);
+            }
+        });
+        lane.schedule();
+
+        return completed;
+    }
+
+    int inFlight() {
+        return this.maxInFlight - this.inFlight.availablePermits();
+    }
+
+    /**
+     * Wait for all submitted tasks to be completed.
+     *
+     * @return true if all tasks are completed, false if the timeout elapsed before.
+     */
+    boolean awaitCompletion(Duration timeout) throws InterruptedException {
+        if (this.inFlight.tryAcquire(this.maxInFlight, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            this.inFlight.release(this.maxInFlight);
+            return true;
+        }
+
+        return false;
+    }
+
+    private final class Lane {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Runnable task;
+            while ((task = this.tasks.poll()) != null) {
+                task.run();
+            }
+
+            this.scheduled.set(false);
+
+            // a task may have been added after the last poll but before we release the lane
+            if (!this.tasks.isEmpty()) {
+                this.schedule();
+            }
+        }
+    }
+}
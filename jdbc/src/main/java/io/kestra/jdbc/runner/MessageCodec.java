@@ -0,0 +1,76 @@
+package io.kestra.jdbc.runner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.jdbc.JdbcMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary encoding of queue messages.<p>
+ * Messages are serialized with Smile, then compressed with GZIP when bigger than the configured threshold.
+ * The first byte of the payload is the format, so a payload can always be decoded whatever the current configuration is.
+ */
+public final class MessageCodec {
+    static final byte FORMAT_SMILE = 1;
+    static final byte FORMAT_SMILE_GZIP = 2;
+
+    private static final ObjectMapper SMILE_MAPPER = JdbcMapper.ofSmile();
+    private static final ObjectMapper JSON_MAPPER = JdbcMapper.of();
+
+    private MessageCodec() {
+        // utility class pattern
+    }
+
+    public static byte[] encode(Object message, int compressionThreshold) throws IOException {
+        byte[] smile = SMILE_MAPPER.writeValueAsBytes(message);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(smile.length < compressionThreshold ? smile.length + 1 : smile.length / 4);
+        if (smile.length < compressionThreshold) {
+            output.write(FORMAT_SMILE);
+            output.write(smile);
+        } else {
+            output.write(FORMAT_SMILE_GZIP);
+            try (OutputStream gzip = new GZIPOutputStream(output)) {
+                gzip.write(smile);
+            }
+        }
+
+        return output.toByteArray();
+    }
+
+    public static <T> T decode(byte[] bytes, Class<T> cls) throws IOException {
+        try (InputStream input = input(bytes)) {
+            return SMILE_MAPPER.readValue(input, cls);
+        }
+    }
+
+    /**
+     * Convert an encoded payload to its JSON representation, used to report messages that cannot be decoded to their class.
+     */
+    public static String toJson(byte[] bytes) {
+        try (InputStream input = input(bytes)) {
+            return JSON_MAPPER.writeValueAsString(SMILE_MAPPER.readTree(input));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static InputStream input(byte[] bytes) throws IOException {
+        if (bytes.length == 0) {
+            throw new IOException("Empty message payload");
+        }
+
+        InputStream input = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+        return switch (bytes[0]) {
+            case FORMAT_SMILE -> input;
+            case FORMAT_SMILE_GZIP -> new GZIPInputStream(input);
+            default -> throw new IOException("Unknown message payload format '" + bytes[0] + "'");
+        };
+    }
+}
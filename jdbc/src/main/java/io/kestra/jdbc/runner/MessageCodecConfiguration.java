@@ -0,0 +1,28 @@
+package io.kestra.jdbc.runner;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Configure the binary encoding of queue messages, see {@link MessageCodec}.
+ * Messages of the configured types are stored as Smile in the <code>value_binary</code> column instead of JSON in the <code>value</code> column,
+ * and compressed when they are bigger than the compression threshold.
+ */
+@ConfigurationProperties("kestra.jdbc.queues.codec")
+@Getter
+public class MessageCodecConfiguration {
+    boolean enabled = false;
+
+    /**
+     * The queue types (message class names) to encode, all types are encoded if empty.
+     */
+    List<String> types;
+
+    Integer compressionThreshold = 16 * 1024;
+
+    public boolean isEnabled(String queueType) {
+        return enabled && (types == null || types.isEmpty() || types.contains(queueType));
+    }
+}
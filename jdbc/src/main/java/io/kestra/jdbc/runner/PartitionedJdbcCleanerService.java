@@ -0,0 +1,45 @@
+package io.kestra.jdbc.runner;
+
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Table;
+
+import java.util.List;
+
+/**
+ * A {@link JdbcCleanerService} for the databases supporting the time partitioned layout of the <code>queues</code> table, see {@link JdbcCleaner#partitions()}.<p>
+ * Besides the time range partitions, the table has a default partition receiving the messages outside of them,
+ * so inserts never fail when the partitions were not created in advance.
+ */
+public interface PartitionedJdbcCleanerService extends JdbcCleanerService {
+    /**
+     * Whether the <code>queues</code> table is partitioned.
+     */
+    boolean isPartitioned(DSLContext context, String table);
+
+    /**
+     * Convert the <code>queues</code> table to a table partitioned on its <code>created</code> column, with the given initial partitions and the default partition.
+     * The first partition must have no lower bound and receives all existing messages.
+     */
+    void partition(DSLContext context, String table, List<QueuePartition> partitions);
+
+    /**
+     * List the time range partitions of the <code>queues</code> table, the default partition excluded.
+     */
+    List<QueuePartition> partitions(DSLContext context, String table);
+
+    /**
+     * Create a partition after the last one.
+     */
+    void createPartition(DSLContext context, String table, QueuePartition partition);
+
+    /**
+     * Drop a partition, doing nothing if it was already dropped, for example by another instance.
+     */
+    void dropPartition(DSLContext context, String table, QueuePartition partition);
+
+    /**
+     * The default partition of the <code>queues</code> table, to delete its expired messages as it is never dropped.
+     */
+    Table<Record> defaultPartition(String table);
+}
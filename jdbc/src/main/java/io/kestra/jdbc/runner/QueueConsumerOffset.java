@@ -0,0 +1,142 @@
+package io.kestra.jdbc.runner;
+
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Position of a consumer tracked in the <code>queue_offsets</code> table.<p>
+ * Offsets are allocated when a message is inserted, but the message only becomes visible when its transaction commits,
+ * so a message can become visible after a message with a greater offset has been consumed.
+ * The position is the greatest offset scanned, along with the offsets below it that were not visible when they were scanned: the pending offsets.
+ * Pending offsets are checked again on each poll until their message becomes visible, or until they expire,
+ * once it's no longer possible for a transaction to commit them: the insert was rolled back, or the message was deleted before being consumed.
+ */
+@Slf4j
+final class QueueConsumerOffset {
+    private long offset;
+    // pending offset -> expiration in epoch milliseconds
+    private final TreeMap<Long, Long> pending;
+    private boolean changed = false;
+
+    QueueConsumerOffset(long offset, Map<Long, Long> pending) {
+        this.offset = offset;
+        this.pending = new TreeMap<>(pending);
+    }
+
+    /**
+     * Read a position stored in the <code>queue_offsets</code> table, see {@link #serializePending()}.
+     */
+    static QueueConsumerOffset of(long offset, @Nullable String pending) {
+        Map<Long, Long> parsed = new TreeMap<>();
+        if (pending != null && !pending.isBlank()) {
+            for (String entry : pending.split(",")) {
+                String[] parts = entry.split(":");
+                parsed.put(Long.parseLong(parts[0].trim()), Long.parseLong(parts[1].trim()));
+            }
+        }
+
+        return new QueueConsumerOffset(offset, parsed);
+    }
+
+    long offset() {
+        return this.offset;
+    }
+
+    Set<Long> pending() {
+        return this.pending.keySet();
+    }
+
+    /**
+     * Whether the position moved since it was read, so it must be stored back.
+     */
+    boolean changed() {
+        return this.changed;
+    }
+
+    /**
+     * Give up on the pending offsets that expired before <code>now</code>.
+     */
+    void expire(long now) {
+        if (this.pending.values().removeIf(expiration -> expiration < now)) {
+            this.changed = true;
+        }
+    }
+
+    /**
+     * Move the position over the visible messages scanned after it, or pending, in offset order,
+     * and return the offsets of the messages to consume.<p>
+     * The position stops after <code>pollSize</code> messages to consume, the following scanned messages are scanned again on the next poll.
+     * The offsets skipped between two scanned messages are not visible yet, they become pending until <code>expiration</code>,
+     * unless there are more than <code>maxPending</code> of them: they are then considered as lost, to bound the size of the position.
+     */
+    List<Long> advance(List<Scanned> scanned, int pollSize, long expiration, int maxPending) {
+        List<Long> selected = new ArrayList<>();
+        long previous = this.offset;
+
+        for (Scanned row : scanned) {
+            if (selected.size() >= pollSize) {
+                break;
+            }
+
+            if (row.offset() <= this.offset) {
+                // a pending message is now visible
+                if (this.pending.remove(row.offset()) != null) {
+                    this.changed = true;
+                    if (row.mine()) {
+                        selected.add(row.offset());
+                    }
+                }
+                continue;
+            }
+
+            long missing = row.offset() - previous - 1;
+            if (missing > 0) {
+                if (this.pending.size() + missing > maxPending) {
+                    log.warn("Skipping {} offset(s) between {} and {} not visible yet, more than {} offsets are already pending", missing, previous, row.offset(), maxPending);
+                } else {
+                    for (long offset = previous + 1; offset < row.offset(); offset++) {
+                        this.pending.put(offset, expiration);
+                    }
+                }
+            }
+
+            previous = row.offset();
+            this.changed = true;
+            if (row.mine()) {
+                selected.add(row.offset());
+            }
+        }
+
+        this.offset = previous;
+
+        return selected;
+    }
+
+    /**
+     * @return the pending offsets with their expiration, as stored in the <code>queue_offsets</code> table, or null if there is none.
+     */
+    @Nullable
+    String serializePending() {
+        if (this.pending.isEmpty()) {
+            return null;
+        }
+
+        return this.pending.entrySet()
+            .stream()
+            .map(entry -> entry.getKey() + ":" + entry.getValue())
+            .collect(Collectors.joining(","));
+    }
+
+    /**
+     * A visible message scanned by a poll, <code>mine</code> if it's one of the consumer, i.e. of its queue type and consumer group.
+     */
+    record Scanned(long offset, boolean mine) {
+    }
+}
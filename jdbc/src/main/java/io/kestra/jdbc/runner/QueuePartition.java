@@ -0,0 +1,50 @@
+package io.kestra.jdbc.runner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A time range partition of the <code>queues</code> table, containing the messages created in <code>[from, to)</code>.<p>
+ * The range is stored in the partition name, so partitions can be listed without parsing database-specific bound expressions.
+ * The first partition of the table, which contains all messages created before the table was partitioned, has a <code>null</code> lower bound.
+ */
+public record QueuePartition(Instant from, Instant to) implements Comparable<QueuePartition> {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmm").withZone(ZoneOffset.UTC);
+    private static final String LEGACY = "000000000000";
+    private static final Pattern NAME_PATTERN = Pattern.compile("p([0-9]{12})_([0-9]{12})$");
+
+    public String name() {
+        return "p" + (from == null ? LEGACY : FORMATTER.format(from)) + "_" + FORMATTER.format(to);
+    }
+
+    /**
+     * Parse a partition name, the name can be prefixed (e.g. by the table name).
+     */
+    public static Optional<QueuePartition> parse(String name) {
+        Matcher matcher = NAME_PATTERN.matcher(name);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+
+        Instant from = matcher.group(1).equals(LEGACY) ? null : FORMATTER.parse(matcher.group(1), Instant::from);
+        return Optional.of(new QueuePartition(from, FORMATTER.parse(matcher.group(2), Instant::from)));
+    }
+
+    /**
+     * Align an instant on the start of its partition interval.
+     */
+    public static Instant floor(Instant instant, Duration interval) {
+        long seconds = interval.toSeconds();
+        return Instant.ofEpochSecond(Math.floorDiv(instant.getEpochSecond(), seconds) * seconds);
+    }
+
+    @Override
+    public int compareTo(QueuePartition o) {
+        return this.to.compareTo(o.to);
+    }
+}
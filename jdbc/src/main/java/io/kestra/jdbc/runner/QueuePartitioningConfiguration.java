@@ -0,0 +1,34 @@
+package io.kestra.jdbc.runner;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Configure the time partitioned layout of the <code>queues</code> table, see {@link JdbcCleaner#partitions()}.<p>
+ * Converting an existing table is an explicit operator step: it copies all the messages in a single transaction,
+ * blocking the producers and the consumers of the queue until it's done. To convert the table, stop the other Kestra services,
+ * start one with both <code>enabled</code> and <code>convert</code> set, then unset <code>convert</code> once the table is partitioned.
+ * Until then, messages are still cleaned with a DELETE.
+ */
+@ConfigurationProperties("kestra.jdbc.cleaner.partitioning")
+@Getter
+public class QueuePartitioningConfiguration {
+    boolean enabled = false;
+
+    /**
+     * Convert the table to a partitioned table if it's not, only set it during a maintenance window.
+     */
+    boolean convert = false;
+
+    /**
+     * The time range of each partition.
+     */
+    Duration interval = Duration.ofDays(1);
+
+    /**
+     * The number of partitions to create in advance.
+     */
+    Integer premake = 2;
+}
@@ -0,0 +1,190 @@
+package io.kestra.jdbc.runner;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timer wheel that calls a consumer with each scheduled item once its date is reached.<p>
+ * Each level of the wheel has a fixed number of buckets spanning one tick of the level, the tick of a level being the whole span of the level below.
+ * Items too far in the future go to an upper level and cascade down as the time advances, so scheduling is O(1) whatever the date.
+ * Only non-empty buckets are tracked in a {@link DelayQueue}, so the timer thread sleeps until the next bucket is due and doesn't tick when idle.<p>
+ * Items are never fired before their date, but can be fired up to one tick after it.
+ */
+@Slf4j
+final class TimerWheel<T> implements AutoCloseable {
+    private final DelayQueue<Bucket<T>> queue = new DelayQueue<>();
+    private final Level<T> wheel;
+    private final Consumer<T> consumer;
+    private final Thread thread;
+
+    private volatile boolean closed = false;
+
+    TimerWheel(String name, Duration tick, int wheelSize, Consumer<T> consumer) {
+        if (tick.toMillis() <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("'tick' must be at least 1ms and 'wheelSize' greater than 1");
+        }
+
+        this.wheel = new Level<>(tick.toMillis(), wheelSize, System.currentTimeMillis(), queue);
+        this.consumer = consumer;
+        this.thread = Thread.ofPlatform()
+            .name(name)
+            .daemon(true)
+            .start(this::run);
+    }
+
+    /**
+     * Schedule an item to be fired at the given date, it is fired immediately on the calling thread if the date is already reached.
+     */
+    void schedule(T item, Instant date) {
+        // round up to the tick so the bucket holding the item never expires before the date
+        long tick = this.wheel.tick;
+        Entry<T> entry = new Entry<>(item, Math.ceilDiv(date.toEpochMilli(), tick) * tick);
+
+        boolean added;
+        synchronized (this) {
+            added = this.wheel.add(entry);
+        }
+
+        if (!added) {
+            this.fire(entry);
+        }
+    }
+
+    private void run() {
+        while (!this.closed) {
+            try {
+                Bucket<T> bucket = this.queue.take();
+
+                List<Entry<T>> expired = new ArrayList<>();
+                synchronized (this) {
+                    while (bucket != null) {
+                        this.wheel.advanceClock(bucket.expiration);
+                        // entries of upper levels cascade down, entries of the lowest level are expired
+                        for (Entry<T> entry : bucket.flush()) {
+                            if (!this.wheel.add(entry)) {
+                                expired.add(entry);
+                            }
+                        }
+
+                        bucket = this.queue.poll();
+                    }
+                }
+
+                expired.forEach(this::fire);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void fire(Entry<T> entry) {
+        try {
+            this.consumer.accept(entry.item);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while firing a timer", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.thread.interrupt();
+    }
+
+    private record Entry<T>(T item, long expiration) {
+    }
+
+    private static final class Level<T> {
+        private final long tick;
+        private final int wheelSize;
+        private final long interval;
+        private final List<Bucket<T>> buckets;
+        private final DelayQueue<Bucket<T>> queue;
+
+        private long currentTime;
+        private Level<T> overflow;
+
+        private Level(long tick, int wheelSize, long startTime, DelayQueue<Bucket<T>> queue) {
+            this.tick = tick;
+            this.wheelSize = wheelSize;
+            this.interval = tick * wheelSize;
+            this.queue = queue;
+            this.currentTime = startTime - (startTime % tick);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                this.buckets.add(new Bucket<>());
+            }
+        }
+
+        /**
+         * @return false if the entry is already expired
+         */
+        private boolean add(Entry<T> entry) {
+            if (entry.expiration < this.currentTime + this.tick) {
+                return false;
+            }
+
+            if (entry.expiration < this.currentTime + this.interval) {
+                long virtualId = entry.expiration / this.tick;
+                Bucket<T> bucket = this.buckets.get((int) (virtualId % this.wheelSize));
+                bucket.entries.add(entry);
+
+                // the bucket is reused for a new round, it must be queued again
+                if (bucket.expiration != virtualId * this.tick) {
+                    bucket.expiration = virtualId * this.tick;
+                    this.queue.offer(bucket);
+                }
+
+                return true;
+            }
+
+            if (this.overflow == null) {
+                this.overflow = new Level<>(this.interval, this.wheelSize, this.currentTime, this.queue);
+            }
+
+            return this.overflow.add(entry);
+        }
+
+        private void advanceClock(long time) {
+            if (time >= this.currentTime + this.tick) {
+                this.currentTime = time - (time % this.tick);
+
+                if (this.overflow != null) {
+                    this.overflow.advanceClock(this.currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<T> implements Delayed {
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private volatile long expiration = -1L;
+
+        private List<Entry<T>> flush() {
+            List<Entry<T>> flushed = new ArrayList<>(this.entries);
+            this.entries.clear();
+            this.expiration = -1L;
+
+            return flushed;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(this.expiration - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(this.expiration, ((Bucket<?>) other).expiration);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.kestra.jdbc.repository;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.runners.Executor;
+import io.kestra.core.utils.IdUtils;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Inject;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.kestra.core.tenant.TenantService.MAIN_TENANT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@KestraTest(rebuildContext = true)
+@Property(name = "kestra.jdbc.executor.execution-cache.enabled", value = StringUtils.TRUE)
+public abstract class AbstractJdbcExecutionCacheTest {
+    @Inject
+    protected AbstractJdbcExecutionRepository executionRepository;
+
+    @Test
+    protected void shouldReuseCachedExecution() {
+        Execution execution = executionRepository.save(execution());
+
+        Execution first = lock(execution.getId());
+        Execution second = lock(execution.getId());
+
+        // the stored execution is unchanged, so the instance cached by the first lock is served
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    protected void shouldReuseCachedExecutionAfterSameWrite() {
+        Execution execution = executionRepository.save(execution());
+
+        Execution first = lock(execution.getId());
+        // the indexer writes back the execution that was just persisted by the lock, its stored hash is unchanged
+        executionRepository.save(first);
+        Execution second = lock(execution.getId());
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    protected void shouldRefetchAfterExternalUpdate() {
+        Execution execution = executionRepository.save(execution());
+
+        Execution first = lock(execution.getId());
+        executionRepository.update(first.withState(State.Type.PAUSED));
+        Execution second = lock(execution.getId());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getState().getCurrent()).isEqualTo(State.Type.PAUSED);
+    }
+
+    @Test
+    @Property(name = "kestra.jdbc.executor.execution-cache.enabled", value = StringUtils.FALSE)
+    protected void shouldFetchEachTimeWhenDisabled() {
+        Execution execution = executionRepository.save(execution());
+
+        Execution first = lock(execution.getId());
+        Execution second = lock(execution.getId());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(first.getId());
+    }
+
+    private Execution lock(String executionId) {
+        AtomicReference<Execution> locked = new AtomicReference<>();
+        executionRepository.lock(executionId, pair -> {
+            locked.set(pair.getLeft());
+            return Pair.of(new Executor(pair.getLeft(), null), pair.getRight());
+        });
+
+        return locked.get();
+    }
+
+    private static Execution execution() {
+        return Execution.builder()
+            .id(IdUtils.create())
+            .tenantId(MAIN_TENANT)
+            .namespace("io.kestra.unittest")
+            .flowId("cache")
+            .flowRevision(1)
+            .state(new State().withState(State.Type.RUNNING))
+            .build();
+    }
+}
@@ -0,0 +1,170 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.flows.FlowInterface;
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.JdbcTableConfig;
+import io.kestra.jdbc.JdbcTableConfigs;
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import io.kestra.jdbc.repository.AbstractJdbcRepository;
+import io.kestra.plugin.core.debug.Return;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@KestraTest
+public abstract class AbstractJdbcCleanerPartitioningTest {
+    protected static final String TABLE = "queues_partitioning_test";
+
+    @Inject
+    protected JooqDSLContextWrapper dslContextWrapper;
+
+    @Inject
+    private JdbcTableConfigs jdbcTableConfigs;
+
+    @Inject
+    private JdbcCleanerService jdbcCleanerService;
+
+    @Inject
+    @Named(QueueFactoryInterface.FLOW_NAMED)
+    private QueueInterface<FlowInterface> flowQueue;
+
+    /**
+     * Create the <code>target</code> table with the same structure as the <code>source</code> queues table.
+     */
+    protected abstract void createTable(DSLContext context, String source, String target);
+
+    @BeforeEach
+    void createTable() {
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+            context.dropTableIfExists(TABLE).execute();
+            this.createTable(context, jdbcTableConfigs.tableConfig("queues").table(), TABLE);
+        });
+    }
+
+    @AfterEach
+    void dropTable() {
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration).dropTableIfExists(TABLE).execute());
+    }
+
+    @Test
+    void shouldRotateAndDropPartitions() throws QueueException {
+        Duration interval = Duration.ofDays(1);
+        Instant now = Instant.now();
+        Instant start = QueuePartition.floor(now, interval);
+        this.insert("old", now.minus(Duration.ofDays(10)));
+        this.insert("recent", now);
+
+        // the table is only converted as an explicit operator step
+        this.cleaner(Duration.ofDays(30), false).partitions();
+        assertThat(this.isPartitioned()).isFalse();
+
+        this.cleaner(Duration.ofDays(30), true).partitions();
+        assertThat(this.isPartitioned()).isTrue();
+        assertThat(this.partitions().getFirst()).isEqualTo(new QueuePartition(null, start));
+        assertThat(this.partitions().getLast().to()).isAfterOrEqualTo(now.plus(interval.multipliedBy(3)));
+        assertThat(this.keys()).containsExactlyInAnyOrder("old", "recent");
+
+        // messages after the last partition go to the default one
+        this.insert("future", now.plus(Duration.ofDays(30)));
+        assertThat(this.keys()).containsExactlyInAnyOrder("old", "recent", "future");
+
+        // the first partition is expired, the current one is kept
+        this.cleaner(Duration.ofSeconds(1), false).partitions();
+        assertThat(this.partitions().getFirst()).isEqualTo(new QueuePartition(start, start.plus(interval)));
+        assertThat(this.keys()).containsExactlyInAnyOrder("recent", "future");
+    }
+
+    @Test
+    void shouldCleanDefaultPartitionAndDropPartitionsOnce() throws QueueException {
+        Instant now = Instant.now();
+        this.insert("recent", now);
+        this.cleaner(Duration.ofDays(30), true).partitions();
+
+        // an expired message stored in the default partition is not removed by dropping partitions
+        this.insert("default", now.plus(Duration.ofDays(30)), now.minus(Duration.ofDays(60)));
+        this.cleaner(Duration.ofDays(30), false).deleteQueue();
+        assertThat(this.keys()).containsExactly("recent");
+
+        // dropping an already dropped partition, like two concurrent cleaners do, is a no-op
+        QueuePartition first = this.partitions().getFirst();
+        dslContextWrapper.transaction(configuration -> {
+            PartitionedJdbcCleanerService service = (PartitionedJdbcCleanerService) jdbcCleanerService;
+            service.dropPartition(DSL.using(configuration), TABLE, first);
+            service.dropPartition(DSL.using(configuration), TABLE, first);
+        });
+        assertThat(this.partitions()).doesNotContain(first);
+    }
+
+    private JdbcCleaner cleaner(Duration retention, boolean convert) {
+        JdbcCleaner.Configuration configuration = new JdbcCleaner.Configuration();
+        configuration.retention = retention;
+
+        QueuePartitioningConfiguration partitioningConfiguration = new QueuePartitioningConfiguration();
+        partitioningConfiguration.enabled = true;
+        partitioningConfiguration.convert = convert;
+
+        return new JdbcCleaner(new JdbcTableConfig("queues", null, TABLE), dslContextWrapper, configuration, jdbcCleanerService, partitioningConfiguration);
+    }
+
+    private void insert(String key, Instant created) throws QueueException {
+        this.insert(key, created, created);
+    }
+
+    private void insert(String key, Instant created, Instant updated) throws QueueException {
+        Map<Field<Object>, Object> fields = ((JdbcQueue<FlowInterface>) flowQueue).produceFields(null, key, FlowWithSource.builder()
+            .id(IdUtils.create())
+            .namespace("io.kestra.unittest")
+            .tasks(Collections.singletonList(Return.builder().id("test").type(Return.class.getName()).format(Property.ofValue("test")).build()))
+            .build()
+        );
+        fields.put(AbstractJdbcRepository.field("created"), Timestamp.from(created));
+        fields.put(AbstractJdbcRepository.field("updated"), Timestamp.from(updated));
+
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration)
+            .insertInto(DSL.table(TABLE))
+            .set(fields)
+            .execute()
+        );
+    }
+
+    private boolean isPartitioned() {
+        return dslContextWrapper.transactionResult(configuration ->
+            ((PartitionedJdbcCleanerService) jdbcCleanerService).isPartitioned(DSL.using(configuration), TABLE)
+        );
+    }
+
+    private List<QueuePartition> partitions() {
+        return dslContextWrapper.transactionResult(configuration ->
+            ((PartitionedJdbcCleanerService) jdbcCleanerService).partitions(DSL.using(configuration), TABLE).stream().sorted().toList()
+        );
+    }
+
+    private List<String> keys() {
+        return dslContextWrapper.transactionResult(configuration -> DSL.using(configuration)
+            .select(AbstractJdbcRepository.field("key"))
+            .from(DSL.table(TABLE))
+            .fetch(0, String.class)
+        );
+    }
+}
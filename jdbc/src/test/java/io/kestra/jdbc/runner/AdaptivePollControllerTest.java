@@ -0,0 +1,89 @@
+package io.kestra.jdbc.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptivePollControllerTest {
+    private static JdbcQueue.Configuration configuration() {
+        var configuration = new JdbcQueue.Configuration();
+        configuration.pollSize = 100;
+        configuration.minPollSize = 10;
+        configuration.maxPollSize = 400;
+        configuration.adaptivePollTargetDuration = Duration.ofMillis(500);
+        return configuration;
+    }
+
+    @Test
+    void shouldGrowOnFullAndFastPolls() {
+        var controller = new AdaptivePollController(configuration());
+
+        controller.onPoll(100, 100, Duration.ofMillis(10), Duration.ofMillis(10));
+        assertThat(controller.pollSize()).isEqualTo(200);
+        assertThat(controller.isFull()).isTrue();
+
+        controller.onPoll(200, 200, Duration.ofMillis(10), Duration.ofMillis(10));
+        controller.onPoll(400, 400, Duration.ofMillis(10), Duration.ofMillis(10));
+        assertThat(controller.pollSize()).isEqualTo(400);
+    }
+
+    @Test
+    void shouldShrinkOnLongTransactions() {
+        var controller = new AdaptivePollController(configuration());
+
+        controller.onPoll(100, 100, Duration.ofSeconds(1), Duration.ZERO);
+        assertThat(controller.pollSize()).isEqualTo(50);
+
+        for (int i = 0; i < 10; i++) {
+            controller.onPoll(controller.pollSize(), controller.pollSize(), Duration.ofSeconds(1), Duration.ZERO);
+        }
+        assertThat(controller.pollSize()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldNotGrowWhenProcessingIsSlow() {
+        var controller = new AdaptivePollController(configuration());
+
+        controller.onPoll(100, 100, Duration.ofMillis(10), Duration.ofMillis(400));
+        assertThat(controller.pollSize()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldShrinkSlowlyOnMostlyEmptyPolls() {
+        var controller = new AdaptivePollController(configuration());
+
+        controller.onPoll(5, 100, Duration.ofMillis(10), Duration.ZERO);
+        assertThat(controller.pollSize()).isEqualTo(75);
+        assertThat(controller.isFull()).isFalse();
+    }
+
+    @Test
+    void shouldBackOffIntervalOnEmptyPolls() {
+        var configuration = configuration();
+        var controller = new AdaptivePollController(configuration);
+        assertThat(controller.pollInterval()).isEqualTo(configuration.getMinPollInterval());
+
+        controller.onPoll(0, 100, Duration.ofMillis(10), Duration.ZERO);
+        assertThat(controller.pollInterval()).isEqualTo(configuration.getMinPollInterval().multipliedBy(2));
+
+        for (int i = 0; i < 20; i++) {
+            controller.onPoll(0, 100, Duration.ofMillis(10), Duration.ZERO);
+        }
+        assertThat(controller.pollInterval()).isEqualTo(configuration.getMaxPollInterval());
+        assertThat(controller.pollIntervalGauge().get()).isEqualTo(configuration.getMaxPollInterval().toMillis());
+
+        controller.onPoll(1, 100, Duration.ofMillis(10), Duration.ZERO);
+        assertThat(controller.pollInterval()).isEqualTo(configuration.getMinPollInterval());
+    }
+
+    @Test
+    void shouldFailOnInvalidBounds() {
+        var configuration = configuration();
+        configuration.minPollSize = 500;
+
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePollController(configuration));
+    }
+}
@@ -0,0 +1,143 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.flows.FlowInterface;
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.runners.Indexer;
+import io.kestra.core.utils.Await;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.JdbcTestUtils;
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import io.kestra.jdbc.repository.AbstractJdbcRepository;
+import io.kestra.plugin.core.debug.Return;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@KestraTest
+@io.micronaut.context.annotation.Property(name = "kestra.jdbc.queues.consumer-offsets", value = "indexer")
+public abstract class JdbcQueueConsumerOffsetsTest {
+    @Inject
+    @Named(QueueFactoryInterface.FLOW_NAMED)
+    protected QueueInterface<FlowInterface> flowQueue;
+
+    @Inject
+    JooqDSLContextWrapper dslContextWrapper;
+
+    @Inject
+    JdbcTestUtils jdbcTestUtils;
+
+    @Test
+    void shouldAdvanceOffset() throws Exception {
+        String group = IdUtils.create();
+        List<String> received = new CopyOnWriteArrayList<>();
+        Runnable cancel = flowQueue.receive(group, Indexer.class, either -> received.add(either.getLeft().getNamespace()), false);
+
+        flowQueue.emit(group, List.of(flow("io.kestra.f1"), flow("io.kestra.f2")));
+        Await.until(() -> received.size() == 2, Duration.ofMillis(10), Duration.ofSeconds(5));
+        cancel.run();
+
+        assertThat(received).containsExactly("io.kestra.f1", "io.kestra.f2");
+        assertThat(this.position(group)).isGreaterThanOrEqualTo(this.lastOffset(group));
+    }
+
+    @Test
+    void shouldResumeFromOffset() throws Exception {
+        String group = IdUtils.create();
+        List<String> first = new CopyOnWriteArrayList<>();
+        Runnable cancel = flowQueue.receive(group, Indexer.class, either -> first.add(either.getLeft().getNamespace()), false);
+
+        flowQueue.emit(group, List.of(flow("io.kestra.f1"), flow("io.kestra.f2")));
+        Await.until(() -> first.size() == 2, Duration.ofMillis(10), Duration.ofSeconds(5));
+        cancel.run();
+        // let the poll in progress end
+        Thread.sleep(500);
+
+        flowQueue.emit(group, List.of(flow("io.kestra.f3"), flow("io.kestra.f4")));
+        List<String> resumed = new CopyOnWriteArrayList<>();
+        cancel = flowQueue.receive(group, Indexer.class, either -> resumed.add(either.getLeft().getNamespace()), false);
+        Await.until(() -> resumed.size() == 2, Duration.ofMillis(10), Duration.ofSeconds(5));
+        cancel.run();
+
+        assertThat(first).containsExactly("io.kestra.f1", "io.kestra.f2");
+        assertThat(resumed).containsExactly("io.kestra.f3", "io.kestra.f4");
+    }
+
+    @Test
+    void shouldConsumeLateCommittedMessage() throws Exception {
+        JdbcQueue<FlowInterface> queue = (JdbcQueue<FlowInterface>) flowQueue;
+        String group = IdUtils.create();
+        List<String> received = new CopyOnWriteArrayList<>();
+        Runnable cancel = flowQueue.receive(group, Indexer.class, either -> received.add(either.getLeft().getNamespace()), false);
+        Await.until(() -> this.position(group) != null, Duration.ofMillis(10), Duration.ofSeconds(5));
+
+        // the offset of the late message is allocated first, but its transaction commits after the next message is consumed
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread producer = Thread.ofPlatform().start(() -> dslContextWrapper.transaction(configuration -> {
+            DSL.using(configuration)
+                .insertInto(queue.table)
+                .set(queue.produceFields(group, null, flow("io.kestra.late")))
+                .execute();
+            inserted.countDown();
+            commit.await();
+        }));
+        inserted.await();
+
+        flowQueue.emit(group, flow("io.kestra.early"));
+        Await.until(() -> received.contains("io.kestra.early"), Duration.ofMillis(10), Duration.ofSeconds(5));
+
+        commit.countDown();
+        producer.join();
+        Await.until(() -> received.contains("io.kestra.late"), Duration.ofMillis(10), Duration.ofSeconds(5));
+        cancel.run();
+
+        assertThat(received).containsExactly("io.kestra.early", "io.kestra.late");
+    }
+
+    private Long position(String group) {
+        return dslContextWrapper.transactionResult(configuration -> DSL.using(configuration)
+            .select(AbstractJdbcRepository.field("offset"))
+            .from(((JdbcQueue<FlowInterface>) flowQueue).offsetsTable)
+            .where(AbstractJdbcRepository.field("consumer").eq("indexer"))
+            .and(AbstractJdbcRepository.field("consumer_group").eq(group))
+            .fetchOne(0, Long.class)
+        );
+    }
+
+    private Long lastOffset(String group) {
+        return dslContextWrapper.transactionResult(configuration -> DSL.using(configuration)
+            .select(DSL.max(AbstractJdbcRepository.field("offset")))
+            .from(((JdbcQueue<FlowInterface>) flowQueue).table)
+            .where(AbstractJdbcRepository.field("consumer_group").eq(group))
+            .fetchOne(0, Long.class)
+        );
+    }
+
+    private static FlowWithSource flow(String namespace) {
+        return FlowWithSource.builder()
+            .id(IdUtils.create())
+            .namespace(namespace)
+            .tasks(Collections.singletonList(Return.builder().id("test").type(Return.class.getName()).format(Property.ofValue("test")).build()))
+            .build();
+    }
+
+    @BeforeEach
+    protected void init() {
+        jdbcTestUtils.drop();
+        jdbcTestUtils.migrate();
+    }
+}
@@ -0,0 +1,53 @@
+package io.kestra.jdbc.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcQueueSignalTest {
+    @Test
+    void shouldNotLoseSignalReceivedBeforeWaiting() throws InterruptedException {
+        JdbcQueueSignal signal = new JdbcQueueSignal();
+        JdbcQueueSignal.Waiter waiter = signal.waiter();
+
+        signal.signal();
+
+        long start = System.nanoTime();
+        waiter.await(Duration.ofSeconds(10));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldWaitUntilTimeoutWithoutSignal() throws InterruptedException {
+        JdbcQueueSignal.Waiter waiter = new JdbcQueueSignal().waiter();
+
+        long start = System.nanoTime();
+        waiter.await(Duration.ofMillis(100));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void shouldWakeUpWaiter() throws InterruptedException {
+        JdbcQueueSignal signal = new JdbcQueueSignal();
+        JdbcQueueSignal.Waiter waiter = signal.waiter();
+        CountDownLatch woken = new CountDownLatch(1);
+
+        Thread thread = Thread.ofPlatform().start(() -> {
+            try {
+                waiter.await(Duration.ofMinutes(1));
+                woken.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        signal.signal();
+
+        assertThat(woken.await(10, TimeUnit.SECONDS)).isTrue();
+        thread.join();
+    }
+}
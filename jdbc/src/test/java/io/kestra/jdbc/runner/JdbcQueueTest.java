@@ -8,6 +8,7 @@ import io.kestra.core.queues.QueueFactoryInterface;
 import io.kestra.core.queues.QueueInterface;
 import io.kestra.core.runners.Indexer;
 import io.kestra.core.runners.WorkerTaskResult;
+import io.kestra.core.utils.Await;
 import io.kestra.core.utils.TestsUtils;
 import io.kestra.plugin.core.debug.Return;
 import io.kestra.core.utils.IdUtils;
@@ -19,9 +20,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static io.kestra.core.utils.Rethrow.throwConsumer;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -126,6 +132,52 @@ abstract public class JdbcQueueTest {
         assertThat(countDownLatch.getCount()).isEqualTo(0L);
     }
 
+    @Test
+    void batch() throws InterruptedException, QueueException {
+        CountDownLatch countDownLatch = new CountDownLatch(3);
+        Flux<FlowInterface> receive = TestsUtils.receive(flowQueue, "consumer_group", Indexer.class, either -> countDownLatch.countDown());
+
+        flowQueue.emit("consumer_group", List.of(builder("io.kestra.f1"), builder("io.kestra.f2"), builder("io.kestra.f3")));
+
+        assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
+        receive.blockLast();
+
+        assertThat(countDownLatch.getCount()).isEqualTo(0L);
+    }
+
+    @Test
+    void batchAsync() throws InterruptedException, QueueException, TimeoutException {
+        JdbcQueue<FlowInterface> queue = (JdbcQueue<FlowInterface>) flowQueue;
+
+        // the first receiver never completes its processing, so the message is not flagged as consumed
+        List<String> pending = new CopyOnWriteArrayList<>();
+        Runnable cancel = queue.receiveBatchAsync(Indexer.class, eithers -> {
+            eithers.forEach(either -> pending.add(either.getLeft().getNamespace()));
+            return new CompletableFuture<>();
+        });
+
+        flowQueue.emit(builder("io.kestra.f1"));
+        Await.until(() -> pending.contains("io.kestra.f1"), Duration.ofMillis(10), Duration.ofSeconds(5));
+        // the message being processed is not received again by the next polls
+        Thread.sleep(500);
+        cancel.run();
+        assertThat(pending).containsExactly("io.kestra.f1");
+
+        // it's received again by the next receiver, then flagged as consumed once processed
+        List<String> processed = new CopyOnWriteArrayList<>();
+        cancel = queue.receiveBatchAsync(Indexer.class, eithers -> {
+            eithers.forEach(either -> processed.add(either.getLeft().getNamespace()));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        Await.until(() -> processed.contains("io.kestra.f1"), Duration.ofMillis(10), Duration.ofSeconds(5));
+        flowQueue.emit(builder("io.kestra.f2"));
+        Await.until(() -> processed.contains("io.kestra.f2"), Duration.ofMillis(10), Duration.ofSeconds(5));
+        cancel.run();
+
+        assertThat(processed).containsExactly("io.kestra.f1", "io.kestra.f2");
+    }
+
     private static FlowWithSource builder(String namespace) {
         return FlowWithSource.builder()
             .id(IdUtils.create())
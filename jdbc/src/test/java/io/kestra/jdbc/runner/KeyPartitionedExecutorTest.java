@@ -0,0 +1,70 @@
+package io.kestra.jdbc.runner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyPartitionedExecutorTest {
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepOrderForTheSameKey() throws InterruptedException {
+        KeyPartitionedExecutor partitionedExecutor = new KeyPartitionedExecutor(executorService, 4, 100);
+        Map<String, List<Integer>> results = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "key-" + (i % 10);
+            int value = i;
+            partitionedExecutor.submit(key, () -> results.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(value));
+        }
+
+        assertThat(partitionedExecutor.awaitCompletion(Duration.ofSeconds(10))).isTrue();
+        assertThat(results).hasSize(10);
+        results.values().forEach(values -> assertThat(values).hasSize(100).isSorted());
+    }
+
+    @Test
+    void shouldNotBlockOtherLanes() throws InterruptedException {
+        KeyPartitionedExecutor partitionedExecutor = new KeyPartitionedExecutor(executorService, 4, 100);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch other = new CountDownLatch(1);
+
+        // 'a' and 'b' hashes go to different lanes
+        String blockingKey = "a";
+        String otherKey = "b";
+
+        CompletableFuture<Void> blockedCompletion = partitionedExecutor.submit(blockingKey, () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        partitionedExecutor.submit(otherKey, other::countDown);
+
+        assertThat(other.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(blockedCompletion).isNotDone();
+
+        blocked.countDown();
+        assertThat(blockedCompletion).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(partitionedExecutor.awaitCompletion(Duration.ofSeconds(5))).isTrue();
+        assertThat(partitionedExecutor.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,57 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.models.executions.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageCodecTest {
+    @Test
+    void shouldEncodeAndDecode() throws IOException {
+        LogEntry logEntry = logEntry("small message");
+
+        byte[] encoded = MessageCodec.encode(logEntry, 16 * 1024);
+
+        assertThat(encoded[0]).isEqualTo(MessageCodec.FORMAT_SMILE);
+        assertThat(MessageCodec.decode(encoded, LogEntry.class)).isEqualTo(logEntry);
+    }
+
+    @Test
+    void shouldCompressAboveThreshold() throws IOException {
+        LogEntry logEntry = logEntry("big message ".repeat(1000));
+
+        byte[] encoded = MessageCodec.encode(logEntry, 1024);
+
+        assertThat(encoded[0]).isEqualTo(MessageCodec.FORMAT_SMILE_GZIP);
+        assertThat(encoded.length).isLessThan(logEntry.getMessage().length());
+        assertThat(MessageCodec.decode(encoded, LogEntry.class)).isEqualTo(logEntry);
+    }
+
+    @Test
+    void shouldConvertToJson() throws IOException {
+        byte[] encoded = MessageCodec.encode(logEntry("message"), 16 * 1024);
+
+        assertThat(MessageCodec.toJson(encoded)).contains("\"message\":\"message\"");
+    }
+
+    @Test
+    void shouldFailOnUnknownFormat() {
+        assertThrows(IOException.class, () -> MessageCodec.decode(new byte[] {42, 1, 2}, LogEntry.class));
+    }
+
+    private static LogEntry logEntry(String message) {
+        return LogEntry.builder()
+            .namespace("io.kestra.unittest")
+            .flowId("flow")
+            .executionId("execution")
+            .timestamp(Instant.parse("2024-01-01T00:00:00Z"))
+            .level(Level.INFO)
+            .message(message)
+            .build();
+    }
+}
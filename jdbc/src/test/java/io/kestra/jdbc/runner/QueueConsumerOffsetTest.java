@@ -0,0 +1,74 @@
+package io.kestra.jdbc.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueueConsumerOffsetTest {
+    @Test
+    void shouldAdvanceOverAllVisibleMessages() {
+        QueueConsumerOffset consumerOffset = new QueueConsumerOffset(10, Map.of());
+
+        List<Long> selected = consumerOffset.advance(List.of(scanned(11, true), scanned(12, false), scanned(13, true)), 100, 1000, 100);
+
+        assertThat(selected).containsExactly(11L, 13L);
+        assertThat(consumerOffset.offset()).isEqualTo(13L);
+        assertThat(consumerOffset.pending()).isEmpty();
+        assertThat(consumerOffset.changed()).isTrue();
+    }
+
+    @Test
+    void shouldConsumePendingOnceVisible() {
+        QueueConsumerOffset consumerOffset = new QueueConsumerOffset(10, Map.of());
+
+        assertThat(consumerOffset.advance(List.of(scanned(11, true), scanned(14, true)), 100, 1000, 100)).containsExactly(11L, 14L);
+        assertThat(consumerOffset.offset()).isEqualTo(14L);
+        assertThat(consumerOffset.pending()).containsExactly(12L, 13L);
+
+        // 12 is committed late, 13 is still not visible
+        assertThat(consumerOffset.advance(List.of(scanned(12, true)), 100, 2000, 100)).containsExactly(12L);
+        assertThat(consumerOffset.offset()).isEqualTo(14L);
+        assertThat(consumerOffset.pending()).containsExactly(13L);
+
+        // 13 was rolled back
+        consumerOffset.expire(1500);
+        assertThat(consumerOffset.pending()).isEmpty();
+    }
+
+    @Test
+    void shouldStopAfterPollSize() {
+        QueueConsumerOffset consumerOffset = new QueueConsumerOffset(10, Map.of());
+
+        assertThat(consumerOffset.advance(List.of(scanned(11, true), scanned(12, false), scanned(13, true), scanned(14, true)), 2, 1000, 100)).containsExactly(11L, 13L);
+        assertThat(consumerOffset.offset()).isEqualTo(13L);
+    }
+
+    @Test
+    void shouldBoundPending() {
+        QueueConsumerOffset consumerOffset = new QueueConsumerOffset(10, Map.of());
+
+        assertThat(consumerOffset.advance(List.of(scanned(1000, true)), 100, 1000, 100)).containsExactly(1000L);
+        assertThat(consumerOffset.offset()).isEqualTo(1000L);
+        assertThat(consumerOffset.pending()).isEmpty();
+    }
+
+    @Test
+    void shouldSerializePending() {
+        QueueConsumerOffset consumerOffset = new QueueConsumerOffset(10, Map.of(8L, 1000L, 9L, 2000L));
+
+        QueueConsumerOffset read = QueueConsumerOffset.of(10, consumerOffset.serializePending());
+
+        assertThat(read.pending()).containsExactly(8L, 9L);
+        read.expire(1500);
+        assertThat(read.pending()).containsExactly(9L);
+        assertThat(QueueConsumerOffset.of(10, null).pending()).isEmpty();
+        assertThat(new QueueConsumerOffset(10, Map.of()).serializePending()).isNull();
+    }
+
+    private static QueueConsumerOffset.Scanned scanned(long offset, boolean mine) {
+        return new QueueConsumerOffset.Scanned(offset, mine);
+    }
+}
@@ -0,0 +1,36 @@
+package io.kestra.jdbc.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueuePartitionTest {
+    @Test
+    void shouldParseName() {
+        QueuePartition partition = new QueuePartition(Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-02T00:00:00Z"));
+
+        assertThat(partition.name()).isEqualTo("p202401010000_202401020000");
+        assertThat(QueuePartition.parse("queues_" + partition.name())).contains(partition);
+    }
+
+    @Test
+    void shouldParseFirstPartition() {
+        QueuePartition partition = new QueuePartition(null, Instant.parse("2024-01-02T00:00:00Z"));
+
+        assertThat(QueuePartition.parse(partition.name())).contains(partition);
+    }
+
+    @Test
+    void shouldIgnoreOtherNames() {
+        assertThat(QueuePartition.parse("queues_unpartitioned")).isEmpty();
+    }
+
+    @Test
+    void shouldFloor() {
+        assertThat(QueuePartition.floor(Instant.parse("2024-01-01T13:45:12Z"), Duration.ofHours(6)))
+            .isEqualTo(Instant.parse("2024-01-01T12:00:00Z"));
+    }
+}
@@ -0,0 +1,57 @@
+package io.kestra.jdbc.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+    @Test
+    void shouldFireWhenDue() throws InterruptedException {
+        Map<Integer, Instant> fired = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        try (TimerWheel<Integer> timer = new TimerWheel<>("test-timer", Duration.ofMillis(5), 8, item -> {
+            fired.put(item, Instant.now());
+            latch.countDown();
+        })) {
+            Instant now = Instant.now();
+            // first level, upper level and already due
+            timer.schedule(1, now.plusMillis(20));
+            timer.schedule(2, now.plusMillis(300));
+            timer.schedule(3, now.minusMillis(10));
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(fired.get(1)).isAfterOrEqualTo(now.plusMillis(20));
+            assertThat(fired.get(2)).isAfterOrEqualTo(now.plusMillis(300)).isBefore(now.plusMillis(1000));
+            assertThat(fired.get(3)).isBefore(now.plusMillis(20));
+        }
+    }
+
+    @Test
+    void shouldFireInDateOrder() throws InterruptedException {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(10);
+
+        try (TimerWheel<Integer> timer = new TimerWheel<>("test-timer", Duration.ofMillis(5), 4, item -> {
+            fired.add(item);
+            latch.countDown();
+        })) {
+            Instant now = Instant.now();
+            for (int i = 10; i > 0; i--) {
+                timer.schedule(i, now.plusMillis(i * 30L));
+            }
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(fired).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.kestra.core.runners;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SecretRedactorBenchmark {
+    @Param({"2", "20", "200"})
+    private int secretCount;
+
+    private List<String> secrets;
+    private SecretRedactor secretRedactor;
+    private String noMatch;
+    private String match;
+
+    @Setup
+    public void setup() {
+        secrets = new ArrayList<>();
+        for (int i = 0; i < secretCount / 2; i++) {
+            String secret = "s3cr3t-password-" + i;
+            secrets.add(secret);
+            secrets.add(Base64.getEncoder().encodeToString(secret.getBytes()));
+        }
+        secretRedactor = SecretRedactor.of(secrets);
+
+        noMatch = "Task io.kestra.plugin.scripts.shell.Commands produced 42 output lines in 1.2s, exit code 0, running on worker abc-123";
+        match = "Connecting to jdbc:postgresql://db:5432/kestra with user kestra and password " + secrets.getFirst() + " from worker abc-123";
+    }
+
+    @Benchmark
+    public String replaceNoMatch() {
+        return replace(noMatch);
+    }
+
+    @Benchmark
+    public String redactNoMatch() {
+        return secretRedactor.redact(noMatch);
+    }
+
+    @Benchmark
+    public String replaceMatch() {
+        return replace(match);
+    }
+
+    @Benchmark
+    public String redactMatch() {
+        return secretRedactor.redact(match);
+    }
+
+    // the previous implementation of RunContextLogger
+    private String replace(String data) {
+        for (String s : secrets) {
+            if (data.contains(s)) {
+                data = data.replace(s, "******");
+            }
+        }
+
+        return data;
+    }
+}
@@ -0,0 +1,120 @@
+package io.kestra.executor;
+
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.tasks.ResolvedTask;
+import io.kestra.core.runners.Executor;
+import io.kestra.core.serializers.YamlParser;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.runner.H2QueueBenchmarks;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of a single {@link ExecutorService#process(Executor)} call on an execution with a large number of task runs:
+ * a <code>ForEach</code> whose children are all terminated except the last one, as it is when a worker result is joined.
+ * It also measures the task run lookups of {@link Execution} that the executor relies on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class ExecutorServiceProcessBenchmark {
+    @Param({"1000", "5000", "10000"})
+    int taskRuns;
+
+    private ApplicationContext applicationContext;
+    private ExecutorService executorService;
+    private FlowWithSource flow;
+    private Execution execution;
+    private Execution message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = H2QueueBenchmarks.start(Map.of());
+        executorService = applicationContext.getBean(ExecutorService.class);
+
+        String source = """
+            id: foreach
+            namespace: io.kestra.jmh
+            tasks:
+              - id: each
+                type: io.kestra.plugin.core.flow.ForEach
+                concurrencyLimit: 0
+                values: [%s]
+                tasks:
+                  - id: child
+                    type: io.kestra.plugin.core.debug.Return
+                    format: "{{ taskrun.value }}"
+            """.formatted(IntStream.range(0, taskRuns).mapToObj(i -> "\"v" + i + "\"").collect(Collectors.joining(", ")));
+        flow = FlowWithSource.of(YamlParser.parse(source, Flow.class), source);
+
+        Execution created = Execution.newExecution(flow, null);
+        TaskRun parent = TaskRun.of(created, ResolvedTask.of(flow.getTasks().getFirst()))
+            .withState(State.Type.RUNNING);
+
+        List<TaskRun> taskRunList = new ArrayList<>(taskRuns + 1);
+        taskRunList.add(parent);
+        for (int i = 0; i < taskRuns; i++) {
+            TaskRun child = TaskRun.builder()
+                .id(IdUtils.create())
+                .executionId(created.getId())
+                .namespace(created.getNamespace())
+                .flowId(created.getFlowId())
+                .taskId("child")
+                .parentTaskRunId(parent.getId())
+                .value("v" + i)
+                .state(new State().withState(State.Type.RUNNING))
+                .build();
+
+            taskRunList.add(i < taskRuns - 1 ? child.withState(State.Type.SUCCESS) : child);
+        }
+
+        execution = created
+            .withTaskRunList(taskRunList)
+            .withState(State.Type.RUNNING);
+    }
+
+    /**
+     * Each message is a new {@link Execution} instance, as when it's read from the queue, so its task run index is built on each call
+     * instead of being cached on the instance by the previous iteration.
+     */
+    @Setup(Level.Invocation)
+    public void newMessage() {
+        message = execution.toBuilder().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Executor process() {
+        return executorService.process(new Executor(message, null).withFlow(flow));
+    }
+
+    @Benchmark
+    public void lookups(Blackhole blackhole) throws Exception {
+        // the lookups done in process, the first one pays for building the index
+        TaskRun last = message.getTaskRunList().getLast();
+
+        blackhole.consume(message.findTaskRunByTaskRunId(last.getId()));
+        blackhole.consume(message.findTaskRunByTaskIdAndValue("child", List.of(last.getValue())));
+        blackhole.consume(message.findChildren(message.getTaskRunList().getFirst()));
+        blackhole.consume(message.findParents(last));
+    }
+}
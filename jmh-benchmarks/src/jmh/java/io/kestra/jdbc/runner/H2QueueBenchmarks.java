@@ -0,0 +1,61 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.utils.IdUtils;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import org.slf4j.event.Level;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared setup of the benchmarks needing a running Kestra: an application context backed by an in-memory H2 database.
+ */
+public final class H2QueueBenchmarks {
+    private H2QueueBenchmarks() {
+    }
+
+    public static ApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("datasources.h2.url", "jdbc:h2:mem:" + IdUtils.create() + ";TIME ZONE=UTC;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("datasources.h2.username", "sa");
+        properties.put("datasources.h2.password", "");
+        properties.put("datasources.h2.driver-class-name", "org.h2.Driver");
+        properties.put("flyway.datasources.h2.enabled", true);
+        properties.put("flyway.datasources.h2.locations", "classpath:migrations/h2");
+        properties.put("kestra.queue.type", "h2");
+        properties.put("kestra.repository.type", "h2");
+        properties.put("kestra.server.liveness.enabled", false);
+        properties.putAll(overrides);
+
+        return ApplicationContext.run(properties, "jmh");
+    }
+
+    @SuppressWarnings("unchecked")
+    static JdbcQueue<LogEntry> logQueue(ApplicationContext applicationContext) {
+        return (JdbcQueue<LogEntry>) applicationContext.getBean(QueueInterface.class, Qualifiers.byName(QueueFactoryInterface.WORKERTASKLOG_NAMED));
+    }
+
+    /**
+     * A log entry whose serialized form is roughly <code>size</code> bytes.
+     */
+    static LogEntry message(String executionId, String id, int size) {
+        char[] payload = new char[size];
+        Arrays.fill(payload, 'x');
+
+        return LogEntry.builder()
+            .namespace("io.kestra.jmh")
+            .flowId("queue")
+            .executionId(executionId)
+            .taskRunId(id)
+            .timestamp(Instant.now())
+            .level(Level.INFO)
+            .message(new String(payload))
+            .build();
+    }
+}
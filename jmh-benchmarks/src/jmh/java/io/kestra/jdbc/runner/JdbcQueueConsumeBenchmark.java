@@ -0,0 +1,128 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.exceptions.DeserializationException;
+import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.utils.Either;
+import io.kestra.core.utils.IdUtils;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end throughput of the H2 queue: each invocation produces a round of messages and waits for the consumers to receive all of them.
+ * Throughput is reported in messages/s, the p50 and p99 latencies between the production and the reception of a message are printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class JdbcQueueConsumeBenchmark {
+    private static final int ROUND_SIZE = 500;
+
+    @Param({"256", "65536"})
+    int messageSize;
+
+    @Param({"10", "100", "500"})
+    int pollSize;
+
+    @Param({"1", "4"})
+    int consumers;
+
+    @Param({"batch", "transaction"})
+    String receive;
+
+    private ApplicationContext applicationContext;
+    private JdbcQueue<LogEntry> queue;
+    private final List<Runnable> cancellations = new ArrayList<>();
+    private final AtomicReference<Round> round = new AtomicReference<>();
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = H2QueueBenchmarks.start(Map.of(
+            "kestra.jdbc.queues.poll-size", pollSize,
+            "kestra.jdbc.queues.min-poll-interval", "1ms",
+            "kestra.jdbc.queues.max-poll-interval", "10ms"
+        ));
+        queue = H2QueueBenchmarks.logQueue(applicationContext);
+
+        // all consumers share the same consumer name, so they compete for the messages
+        for (int i = 0; i < consumers; i++) {
+            if (receive.equals("transaction")) {
+                cancellations.add(queue.receiveTransaction(null, JdbcQueueConsumeBenchmark.class, (dslContext, eithers) -> this.received(eithers)));
+            } else {
+                cancellations.add(queue.receiveBatch(JdbcQueueConsumeBenchmark.class, this::received));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cancellations.forEach(Runnable::run);
+        applicationContext.close();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length > 0) {
+            System.out.printf(
+                "%nConsume latency (messageSize=%d, pollSize=%d, consumers=%d, receive=%s): p50=%.2fms, p99=%.2fms over %d messages%n",
+                messageSize, pollSize, consumers, receive,
+                sorted[(int) (sorted.length * 0.50)] / 1_000_000.0,
+                sorted[(int) (sorted.length * 0.99)] / 1_000_000.0,
+                sorted.length
+            );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUND_SIZE)
+    public void produceAndConsume() throws QueueException, InterruptedException, TimeoutException {
+        Round current = new Round(IdUtils.create(), ConcurrentHashMap.newKeySet(), new CountDownLatch(ROUND_SIZE));
+        round.set(current);
+
+        queue.emit(IntStream.range(0, ROUND_SIZE)
+            .mapToObj(i -> H2QueueBenchmarks.message(current.id(), String.valueOf(i), messageSize))
+            .toList()
+        );
+
+        if (!current.latch().await(1, TimeUnit.MINUTES)) {
+            throw new TimeoutException("Only " + (ROUND_SIZE - current.latch().getCount()) + " messages out of " + ROUND_SIZE + " were received");
+        }
+    }
+
+    private void received(List<Either<LogEntry, DeserializationException>> eithers) {
+        Round current = round.get();
+        Instant now = Instant.now();
+
+        for (Either<LogEntry, DeserializationException> either : eithers) {
+            if (either.isRight()) {
+                continue;
+            }
+
+            LogEntry message = either.getLeft();
+            // the messages of a previous timed out round must not be counted, nor redeliveries between competing consumers
+            if (current != null && current.id().equals(message.getExecutionId()) && current.received().add(message.getTaskRunId())) {
+                latencies.add(Duration.between(message.getTimestamp(), now).toNanos());
+                current.latch().countDown();
+            }
+        }
+    }
+
+    private record Round(String id, Set<String> received, CountDownLatch latch) {
+    }
+}
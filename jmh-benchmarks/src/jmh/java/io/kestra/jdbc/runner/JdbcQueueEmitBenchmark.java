@@ -0,0 +1,61 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.queues.QueueException;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput and latency of producing messages to the H2 queue, one by one and in batch.
+ * Throughput is reported in messages/s, and the sample time mode reports latency percentiles of each emit call.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class JdbcQueueEmitBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"256", "4096", "65536"})
+    int messageSize;
+
+    private ApplicationContext applicationContext;
+    private JdbcQueue<LogEntry> queue;
+    private LogEntry message;
+    private List<LogEntry> batch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = H2QueueBenchmarks.start(Map.of());
+        queue = H2QueueBenchmarks.logQueue(applicationContext);
+        message = H2QueueBenchmarks.message("emit", "emit", messageSize);
+        batch = IntStream.range(0, BATCH_SIZE)
+            .mapToObj(i -> message)
+            .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void emit() throws QueueException {
+        queue.emit(message);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void emitBatch() throws QueueException {
+        queue.emit(batch);
+    }
+}
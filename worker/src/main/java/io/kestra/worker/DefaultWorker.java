@@ -24,6 +24,7 @@ import io.kestra.core.services.LogService;
 import io.kestra.core.services.MaintenanceService;
 import io.kestra.core.services.VariablesService;
 import io.kestra.core.services.WorkerGroupService;
+import io.kestra.core.storages.CacheFile;
 import io.kestra.core.storages.StorageContext;
 import io.kestra.core.trace.TraceUtils;
 import io.kestra.core.trace.Tracer;
@@ -41,6 +42,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
@@ -48,7 +50,6 @@ import org.slf4j.event.Level;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -60,6 +61,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -135,6 +137,9 @@ public class DefaultWorker implements Worker {
     @Inject
     private VariablesService variablesService;
 
+    @Inject
+    private LocalTaskCache localTaskCache;
+
     private final Set<String> killedExecution = ConcurrentHashMap.newKeySet();
 
     @Getter
@@ -158,6 +163,12 @@ public class DefaultWorker implements Worker {
 
     private final ExecutorService executorService;
 
+    // in the virtual thread mode, bound the number of jobs running concurrently, globally and by task type
+    private final WorkerVirtualThreadsConfig virtualThreadsConfig;
+    private final Semaphore jobPermits;
+    private final Map<String, Semaphore> taskTypePermits;
+    private VirtualThreadPinnedMonitor pinnedMonitor;
+
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
     private final AtomicBoolean init = new AtomicBoolean(false);
 
@@ -191,14 +202,27 @@ public class DefaultWorker implements Worker {
         @Nullable @Parameter String workerGroupKey,
         ApplicationEventPublisher<ServiceStateChangeEvent> eventPublisher,
         WorkerGroupService workerGroupService,
-        ExecutorsUtils executorsUtils
+        ExecutorsUtils executorsUtils,
+        WorkerVirtualThreadsConfig virtualThreadsConfig
     ) {
         this.id = workerId;
         this.numThreads = numThreads;
         this.workerGroupKey = workerGroupKey;
         this.workerGroup = workerGroupService.resolveGroupFromKey(workerGroupKey);
         this.eventPublisher = eventPublisher;
-        this.executorService = executorsUtils.maxCachedThreadPool(numThreads, EXECUTOR_NAME);
+        this.virtualThreadsConfig = virtualThreadsConfig;
+        if (virtualThreadsConfig.isEnabled()) {
+            // jobs are mostly waiting on I/O, so each one gets its own virtual thread, and the concurrency is bounded by permits
+            this.executorService = executorsUtils.virtualThreadPerTaskExecutor(EXECUTOR_NAME);
+            this.jobPermits = new Semaphore(virtualThreadsConfig.getMaxConcurrency());
+            // task type may have been normalized by the configuration
+            this.taskTypePermits = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            virtualThreadsConfig.getTaskTypeLimits().forEach((type, limit) -> this.taskTypePermits.put(type, new Semaphore(limit)));
+        } else {
+            this.executorService = executorsUtils.maxCachedThreadPool(numThreads, EXECUTOR_NAME);
+            this.jobPermits = null;
+            this.taskTypePermits = Collections.emptyMap();
+        }
         this.setState(ServiceState.CREATED);
     }
 
@@ -208,7 +232,7 @@ public class DefaultWorker implements Worker {
         if (this.init.compareAndSet(false, true)) {
             String[] tags = this.workerGroup == null ? new String[0] : new String[]{MetricRegistry.TAG_WORKER_GROUP, this.workerGroup};
             // create metrics to store thread count, pending jobs and running jobs, so we can have autoscaling easily
-            this.metricRegistry.gauge(MetricRegistry.METRIC_WORKER_JOB_THREAD_COUNT, MetricRegistry.METRIC_WORKER_JOB_THREAD_COUNT_DESCRIPTION, numThreads, tags);
+            this.metricRegistry.gauge(MetricRegistry.METRIC_WORKER_JOB_THREAD_COUNT, MetricRegistry.METRIC_WORKER_JOB_THREAD_COUNT_DESCRIPTION, this.concurrency(), tags);
             this.metricRegistry.gauge(MetricRegistry.METRIC_WORKER_JOB_PENDING_COUNT, MetricRegistry.METRIC_WORKER_JOB_PENDING_COUNT_DESCRIPTION, pendingJobCount, tags);
             this.metricRegistry.gauge(MetricRegistry.METRIC_WORKER_JOB_RUNNING_COUNT, MetricRegistry.METRIC_WORKER_JOB_RUNNING_COUNT_DESCRIPTION, runningJobCount, tags);
 
@@ -279,6 +303,16 @@ public class DefaultWorker implements Worker {
             either -> {
                 pendingJobCount.incrementAndGet();
                 executorService.execute(() -> {
+                    final List<Semaphore> permits;
+                    try {
+                        permits = this.acquirePermits(either);
+                    } catch (InterruptedException e) {
+                        // the worker is shutting down, the job is dropped like a job still waiting in the thread pool queue
+                        pendingJobCount.decrementAndGet();
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+
                     pendingJobCount.decrementAndGet();
                     runningJobCount.incrementAndGet();
 
@@ -297,6 +331,7 @@ public class DefaultWorker implements Worker {
                         }
                     } finally {
                         runningJobCount.decrementAndGet();
+                        permits.forEach(Semaphore::release);
                     }
                 });
             }
@@ -309,7 +344,10 @@ public class DefaultWorker implements Worker {
             setState(ServiceState.RUNNING);
         }
 
-        if (workerGroupKey != null) {
+        if (virtualThreadsConfig.isEnabled()) {
+            this.startPinnedMonitor();
+            log.info("Worker started with virtual threads, running up to {} job(s) concurrently{}", this.concurrency(), workerGroupKey != null ? " in group '" + workerGroupKey + "'" : "");
+        } else if (workerGroupKey != null) {
             log.info("Worker started with {} thread(s) in group '{}'", numThreads, workerGroupKey);
         }
         else {
@@ -317,6 +355,72 @@ public class DefaultWorker implements Worker {
         }
     }
 
+    private int concurrency() {
+        return virtualThreadsConfig.isEnabled() ? virtualThreadsConfig.getMaxConcurrency() : numThreads;
+    }
+
+    /**
+     * Acquire the permits needed to run a job in the virtual thread mode, the permit of its task type first
+     * so a job waiting for its task type doesn't hold one of the global permits.
+     *
+     * @return the acquired permits, to release once the job is done
+     */
+    private List<Semaphore> acquirePermits(Either<WorkerJob, DeserializationException> either) throws InterruptedException {
+        if (this.jobPermits == null) {
+            return Collections.emptyList();
+        }
+
+        long start = System.nanoTime();
+        List<Semaphore> permits = new ArrayList<>(2);
+        try {
+            if (either.isLeft() && either.getLeft() instanceof WorkerTask workerTask) {
+                Semaphore taskTypePermit = this.taskTypePermits.get(workerTask.getTask().getType());
+                if (taskTypePermit != null) {
+                    taskTypePermit.acquire();
+                    permits.add(taskTypePermit);
+                }
+            }
+
+            this.jobPermits.acquire();
+            permits.add(this.jobPermits);
+        } catch (InterruptedException e) {
+            permits.forEach(Semaphore::release);
+            throw e;
+        }
+
+        String[] tags = this.workerGroup == null ? new String[0] : new String[]{MetricRegistry.TAG_WORKER_GROUP, this.workerGroup};
+        metricRegistry
+            .timer(MetricRegistry.METRIC_WORKER_JOB_PERMIT_WAIT_DURATION, MetricRegistry.METRIC_WORKER_JOB_PERMIT_WAIT_DURATION_DESCRIPTION, tags)
+            .record(Duration.ofNanos(System.nanoTime() - start));
+
+        return permits;
+    }
+
+    private void startPinnedMonitor() {
+        Duration threshold = virtualThreadsConfig.getPinnedThreshold();
+        if (threshold == null || threshold.isZero()) {
+            return;
+        }
+
+        try {
+            String[] tags = this.workerGroup == null ? new String[0] : new String[]{MetricRegistry.TAG_WORKER_GROUP, this.workerGroup};
+            this.pinnedMonitor = new VirtualThreadPinnedMonitor(
+                threshold,
+                metricRegistry.timer(MetricRegistry.METRIC_WORKER_VIRTUAL_THREAD_PINNED_DURATION, MetricRegistry.METRIC_WORKER_VIRTUAL_THREAD_PINNED_DURATION_DESCRIPTION, tags)
+            );
+        } catch (RuntimeException e) {
+            // JFR may not be available in the runtime
+            log.warn("Unable to monitor the virtual threads pinning their carrier thread", e);
+        }
+    }
+
+    private void closePinnedMonitor() {
+        if (this.pinnedMonitor != null) {
+            this.pinnedMonitor.close();
+            this.pinnedMonitor = null;
+        }
+    }
+
     private void clusterEventQueue(Either<ClusterEvent, DeserializationException> either) {
         if (either.isRight()) {
             log.error("Unable to deserialize a cluster event: {}", either.getRight().getMessage());
@@ -695,26 +799,21 @@ public class DefaultWorker implements Worker {
             hash = hashTask(runContext, workerTask.getTask());
             if (hash.isPresent()) {
                 try {
-                    Optional<InputStream> cacheFile = runContext.storage().getCacheFile(hash.get(), workerTask.getTaskRun().getValue(), workerTask.getTask().getTaskCache().getTtl());
-                    if (cacheFile.isPresent()) {
+                    Optional<byte[]> cache = this.loadTaskCache(runContext, workerTask, hash.get());
+                    if (cache.isPresent()) {
                         runContext.logger().info("Skipping task execution for task '{}' as there is an existing cache entry for it", workerTask.getTask().getId());
-                        try (ZipInputStream archive = new ZipInputStream(cacheFile.get())) {
-                            if (archive.getNextEntry() != null) {
-                                byte[] cache = archive.readAllBytes();
-                                Map<String, Object> outputMap = JacksonMapper.ofIon().readValue(cache, JacksonMapper.MAP_TYPE_REFERENCE);
-                                Variables variables = variablesService.of(StorageContext.forTask(workerTask.getTaskRun()), outputMap);
-
-                                TaskRunAttempt attempt = TaskRunAttempt.builder()
-                                    .state(new io.kestra.core.models.flows.State().withState(SUCCESS))
-                                    .workerId(this.id)
-                                    .build();
-                                List<TaskRunAttempt> attempts = this.addAttempt(workerTask, attempt);
-                                TaskRun taskRun = workerTask.getTaskRun().withAttempts(attempts).withOutputs(variables).withState(SUCCESS);
-                                WorkerTaskResult workerTaskResult = new WorkerTaskResult(taskRun);
-                                this.workerTaskResultQueue.emit(workerTaskResult);
-                                return workerTaskResult;
-                            }
-                        }
+                        Map<String, Object> outputMap = JacksonMapper.ofIon().readValue(cache.get(), JacksonMapper.MAP_TYPE_REFERENCE);
+                        Variables variables = variablesService.of(StorageContext.forTask(workerTask.getTaskRun()), outputMap);
+
+                        TaskRunAttempt attempt = TaskRunAttempt.builder()
+                            .state(new io.kestra.core.models.flows.State().withState(SUCCESS))
+                            .workerId(this.id)
+                            .build();
+                        List<TaskRunAttempt> attempts = this.addAttempt(workerTask, attempt);
+                        TaskRun taskRun = workerTask.getTaskRun().withAttempts(attempts).withOutputs(variables).withState(SUCCESS);
+                        WorkerTaskResult workerTaskResult = new WorkerTaskResult(taskRun);
+                        this.workerTaskResultQueue.emit(workerTaskResult);
+                        return workerTaskResult;
                     }
                 } catch (IOException | RuntimeException | QueueException e) {
                     // in case of any exception, log an error and continue
@@ -769,15 +868,19 @@ public class DefaultWorker implements Worker {
 
                 try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
                      ZipOutputStream archive = new ZipOutputStream(bos)) {
+                    byte[] outputs = JacksonMapper.ofIon().writeValueAsBytes(workerTask.getTaskRun().getOutputs());
                     var zipEntry = new ZipEntry("outputs.ion");
                     archive.putNextEntry(zipEntry);
-                    archive.write(JacksonMapper.ofIon().writeValueAsBytes(workerTask.getTaskRun().getOutputs()));
+                    archive.write(outputs);
                     archive.closeEntry();
                     archive.finish();
                     Path archiveFile = runContext.workingDir().createTempFile( ".zip");
                     Files.write(archiveFile, bos.toByteArray());
                     URI uri = runContext.storage().putCacheFile(archiveFile.toFile(), hash.get(), workerTask.getTaskRun().getValue());
                     runContext.logger().debug("Caching entry uploaded in URI {}", uri);
+
+                    // the entry is written slightly after now in the internal storage, so it never outlives its TTL locally
+                    localTaskCache.put(LocalTaskCache.Key.of(workerTask.getTaskRun(), hash.get()), outputs, Instant.now(), this.taskCacheTags(workerTask));
                 } catch (IOException | RuntimeException e) {
                     // in case of any exception, log an error and continue
                     runContext.logger().error("Unexpected exception while uploading the cache entry for task '{}', the task not be cached.", workerTask.getTask().getId(), e);
@@ -815,6 +918,45 @@ public class DefaultWorker implements Worker {
         }
     }
 
+    private Optional<byte[]> loadTaskCache(RunContext runContext, WorkerTask workerTask, String hash) throws IOException {
+        LocalTaskCache.Key key = LocalTaskCache.Key.of(workerTask.getTaskRun(), hash);
+        Duration ttl = workerTask.getTask().getTaskCache().getTtl();
+        String[] tags = this.taskCacheTags(workerTask);
+
+        Optional<byte[]> local = localTaskCache.get(key, ttl);
+        if (local.isPresent()) {
+            this.taskCacheHit(tags, "local");
+            return local;
+        }
+
+        Optional<CacheFile> cacheFile = runContext.storage().getCacheFileWithAttributes(hash, workerTask.getTaskRun().getValue(), ttl);
+        if (cacheFile.isPresent()) {
+            try (ZipInputStream archive = new ZipInputStream(cacheFile.get().content())) {
+                if (archive.getNextEntry() != null) {
+                    byte[] outputs = archive.readAllBytes();
+                    localTaskCache.put(key, outputs, cacheFile.get().lastModifiedTime(), tags);
+                    this.taskCacheHit(tags, "storage");
+                    return Optional.of(outputs);
+                }
+            }
+        }
+
+        metricRegistry
+            .counter(MetricRegistry.METRIC_WORKER_TASK_CACHE_MISS_COUNT, MetricRegistry.METRIC_WORKER_TASK_CACHE_MISS_COUNT_DESCRIPTION, tags)
+            .increment();
+        return Optional.empty();
+    }
+
+    private void taskCacheHit(String[] tags, String tier) {
+        metricRegistry
+            .counter(MetricRegistry.METRIC_WORKER_TASK_CACHE_HIT_COUNT, MetricRegistry.METRIC_WORKER_TASK_CACHE_HIT_COUNT_DESCRIPTION, ArrayUtils.addAll(tags, MetricRegistry.TAG_CACHE_TIER, tier))
+            .increment();
+    }
+
+    private String[] taskCacheTags(WorkerTask workerTask) {
+        return metricRegistry.tags(workerTask, workerGroup, MetricRegistry.TAG_TASK_ID, workerTask.getTask().getId());
+    }
+
     private Optional<String> hashTask(RunContext runContext, Task task) {
         try {
             var map = JacksonMapper.toMap(task);
@@ -1013,6 +1155,7 @@ public class DefaultWorker implements Worker {
     public void close() {
         if (shutdown.compareAndSet(false, true)) {
             closeWorker(serverConfig.terminationGracePeriod());
+            closePinnedMonitor();
         }
     }
 
@@ -1165,6 +1308,7 @@ public class DefaultWorker implements Worker {
         // close all queues and shutdown now
         this.receiveCancellations.forEach(Runnable::run);
         this.executorService.shutdownNow();
+        closePinnedMonitor();
     }
 
     public List<WorkerJob> getWorkerThreadTasks() {
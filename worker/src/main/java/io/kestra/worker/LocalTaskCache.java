@@ -0,0 +1,163 @@
+package io.kestra.worker;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.utils.IdUtils;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.format.ReadableBytesTypeConverter;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * A bounded local disk tier in front of the internal storage for the task cache entries.<p>
+ * Entries hold the serialized outputs of a task run, already extracted from the archive stored in the internal storage,
+ * with the time the entry was written to the internal storage so the TTL of the task cache expires them at the same time on every worker.
+ * As the key of a task cache entry is the hash of the rendered task, an entry never changes until it expires.
+ */
+@Slf4j
+@Singleton
+public class LocalTaskCache {
+    private final MetricRegistry metricRegistry;
+    private final boolean enabled;
+
+    private Path directory;
+    private Cache<Key, Entry> entries;
+
+    @Inject
+    public LocalTaskCache(
+        MetricRegistry metricRegistry,
+        @Value("${kestra.worker.task-cache.local.enabled:false}") boolean enabled,
+        @Value("${kestra.worker.task-cache.local.path:}") String path,
+        @Value("${kestra.worker.task-cache.local.max-size:256MB}") String maxSize
+    ) throws IOException {
+        this.metricRegistry = metricRegistry;
+        this.enabled = enabled;
+
+        if (!enabled) {
+            return;
+        }
+
+        long maxBytes = new ReadableBytesTypeConverter().convert(maxSize, Number.class)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid local task cache max size with value '" + maxSize + "'"))
+            .longValue();
+
+        // each instance has its own directory, as the index of the cache is in memory
+        Path parent = Path.of(StringUtils.isEmpty(path) ? System.getProperty("java.io.tmpdir") : path);
+        Files.createDirectories(parent);
+        this.directory = Files.createTempDirectory(parent, "task-cache-");
+
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, Entry>weigher((key, entry) -> (int) Math.min(entry.size(), Integer.MAX_VALUE))
+            .removalListener((key, entry, cause) -> {
+                if (entry == null) {
+                    return;
+                }
+
+                if (cause.wasEvicted()) {
+                    this.evicted(entry);
+                }
+
+                this.deleteQuietly(entry.file());
+            })
+            .build();
+    }
+
+    /**
+     * Get the outputs of a task cache entry, if it is in the local cache and not expired.
+     */
+    public Optional<byte[]> get(Key key, @Nullable Duration ttl) {
+        if (!this.enabled) {
+            return Optional.empty();
+        }
+
+        Entry entry = this.entries.getIfPresent(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        if (ttl != null && Instant.now().isAfter(entry.lastModifiedTime().plus(ttl))) {
+            this.evicted(entry);
+            this.entries.asMap().remove(key, entry);
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.readAllBytes(entry.file()));
+        } catch (NoSuchFileException e) {
+            // removed in the meantime
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Unable to read the local task cache entry '{}'", entry.file(), e);
+            this.entries.asMap().remove(key, entry);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store the outputs of a task cache entry written to the internal storage at the given time.
+     */
+    public void put(Key key, byte[] outputs, Instant lastModifiedTime, String[] tags) {
+        if (!this.enabled) {
+            return;
+        }
+
+        Path file = this.directory.resolve(IdUtils.create());
+        try {
+            Files.write(file, outputs);
+            this.entries.put(key, new Entry(file, outputs.length, lastModifiedTime, tags));
+        } catch (IOException e) {
+            log.warn("Unable to write the local task cache entry '{}'", file, e);
+            this.deleteQuietly(file);
+        }
+    }
+
+    private void evicted(Entry entry) {
+        this.metricRegistry
+            .counter(MetricRegistry.METRIC_WORKER_TASK_CACHE_EVICTION_COUNT, MetricRegistry.METRIC_WORKER_TASK_CACHE_EVICTION_COUNT_DESCRIPTION, entry.tags())
+            .increment();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete the local task cache entry '{}'", file, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (this.enabled) {
+            this.entries.invalidateAll();
+            FileUtils.deleteQuietly(this.directory.toFile());
+        }
+    }
+
+    /**
+     * The key of a task cache entry, matching the location of the entry in the internal storage.
+     */
+    public record Key(String tenantId, String namespace, String flowId, String hash, @Nullable String objectId) {
+        public static Key of(TaskRun taskRun, String hash) {
+            return new Key(taskRun.getTenantId(), taskRun.getNamespace(), taskRun.getFlowId(), hash, taskRun.getValue());
+        }
+    }
+
+    private record Entry(Path file, long size, Instant lastModifiedTime, String[] tags) {
+    }
+}
@@ -0,0 +1,53 @@
+package io.kestra.worker;
+
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Report the virtual threads pinning their carrier thread, from the {@code jdk.VirtualThreadPinned} JFR event.
+ * A pinned virtual thread blocks its carrier, so a task pinning often (e.g. blocking inside a {@code synchronized} block on Java 21)
+ * reduces the number of jobs the worker can run concurrently.
+ */
+@Slf4j
+final class VirtualThreadPinnedMonitor implements AutoCloseable {
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream;
+
+    VirtualThreadPinnedMonitor(Duration threshold, Timer pinned) {
+        this.stream = new RecordingStream();
+        this.stream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        this.stream.onEvent(EVENT_NAME, event -> {
+            pinned.record(event.getDuration());
+
+            if (log.isDebugEnabled()) {
+                log.debug("Virtual thread '{}' pinned its carrier thread for {}ms at {}", event.getThread() != null ? event.getThread().getJavaName() : null, event.getDuration().toMillis(), stackTrace(event));
+            }
+        });
+        this.stream.startAsync();
+    }
+
+    private static String stackTrace(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+
+        return event.getStackTrace().getFrames()
+            .stream()
+            .limit(5)
+            .map(RecordedFrame::getMethod)
+            .map(method -> method.getType().getName() + "." + method.getName())
+            .collect(Collectors.joining(" < "));
+    }
+
+    @Override
+    public void close() {
+        this.stream.close();
+    }
+}
@@ -0,0 +1,34 @@
+package io.kestra.worker;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.MapFormat;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the virtual thread mode of the worker, where each job runs on its own virtual thread
+ * and the concurrency is bounded by permits instead of the number of threads.
+ */
+@ConfigurationProperties("kestra.worker.virtual-threads")
+@Getter
+public class WorkerVirtualThreadsConfig {
+    boolean enabled = false;
+
+    /**
+     * The maximum number of jobs running concurrently.
+     */
+    int maxConcurrency = 1000;
+
+    /**
+     * The maximum number of tasks of a type running concurrently, by task type.
+     */
+    @MapFormat(transformation = MapFormat.MapTransformation.FLAT)
+    Map<String, Integer> taskTypeLimits = Map.of();
+
+    /**
+     * Virtual threads pinning their carrier thread for longer than this duration are reported, disabled if zero.
+     */
+    Duration pinnedThreshold = Duration.ofMillis(20);
+}
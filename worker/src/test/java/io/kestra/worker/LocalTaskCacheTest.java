@@ -0,0 +1,57 @@
+package io.kestra.worker;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.utils.IdUtils;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static io.kestra.core.tenant.TenantService.MAIN_TENANT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@KestraTest
+class LocalTaskCacheTest {
+    private static final String[] TAGS = new String[]{MetricRegistry.TAG_FLOW_ID, "flow", MetricRegistry.TAG_TASK_ID, "task"};
+
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldServeUntilExpired() throws Exception {
+        LocalTaskCache cache = new LocalTaskCache(metricRegistry, true, tempDir.toString(), "1MB");
+        try {
+            LocalTaskCache.Key key = new LocalTaskCache.Key(MAIN_TENANT, "io.kestra.unittest", "flow", IdUtils.create(), null);
+            assertThat(cache.get(key, null)).isEmpty();
+
+            cache.put(key, "outputs".getBytes(StandardCharsets.UTF_8), Instant.now(), TAGS);
+            assertThat(cache.get(key, null)).hasValueSatisfying(outputs -> assertThat(new String(outputs, StandardCharsets.UTF_8)).isEqualTo("outputs"));
+            assertThat(cache.get(key, Duration.ofHours(1))).isPresent();
+
+            // an entry written in the storage before the TTL is expired, whatever the time it was cached locally
+            LocalTaskCache.Key expired = new LocalTaskCache.Key(MAIN_TENANT, "io.kestra.unittest", "flow", IdUtils.create(), "value");
+            cache.put(expired, "outputs".getBytes(StandardCharsets.UTF_8), Instant.now().minus(Duration.ofHours(2)), TAGS);
+            assertThat(cache.get(expired, Duration.ofHours(1))).isEmpty();
+            assertThat(cache.get(expired, null)).isEmpty();
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    void shouldBeNoopWhenDisabled() throws Exception {
+        LocalTaskCache cache = new LocalTaskCache(metricRegistry, false, null, "1MB");
+        LocalTaskCache.Key key = new LocalTaskCache.Key(MAIN_TENANT, "io.kestra.unittest", "flow", IdUtils.create(), null);
+
+        cache.put(key, "outputs".getBytes(StandardCharsets.UTF_8), Instant.now(), TAGS);
+        assertThat(cache.get(key, null)).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package io.kestra.worker;
+
+import com.google.common.collect.ImmutableMap;
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.*;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.ResolvedTask;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.Await;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.core.flow.Sleep;
+import io.micronaut.context.ApplicationContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@KestraTest(rebuildContext = true)
+@io.micronaut.context.annotation.Property(name = "kestra.worker.virtual-threads.enabled", value = "true")
+@io.micronaut.context.annotation.Property(name = "kestra.worker.virtual-threads.task-type-limits.io.kestra.plugin.core.flow.Sleep", value = "1")
+class WorkerVirtualThreadsTest {
+    @Inject
+    ApplicationContext applicationContext;
+
+    @Inject
+    @Named(QueueFactoryInterface.WORKERJOB_NAMED)
+    QueueInterface<WorkerJob> workerTaskQueue;
+
+    @Inject
+    @Named(QueueFactoryInterface.WORKERTASKRESULT_NAMED)
+    QueueInterface<WorkerTaskResult> workerTaskResultQueue;
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Test
+    void shouldLimitConcurrencyByTaskType() throws TimeoutException, QueueException {
+        DefaultWorker worker = applicationContext.createBean(DefaultWorker.class, IdUtils.create(), 8, null);
+        worker.run();
+
+        List<WorkerTaskResult> workerTaskResults = new CopyOnWriteArrayList<>();
+        Flux<WorkerTaskResult> receive = TestsUtils.receive(workerTaskResultQueue, either -> {
+            if (either.getLeft().getTaskRun().getState().isTerminated()) {
+                workerTaskResults.add(either.getLeft());
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            workerTaskQueue.emit(workerTask(500));
+        }
+
+        Await.until(() -> workerTaskResults.size() == 3, Duration.ofMillis(100), Duration.ofMinutes(1));
+        long duration = System.currentTimeMillis() - start;
+        receive.blockLast();
+        worker.shutdown();
+
+        assertThat(workerTaskResults).allSatisfy(result -> assertThat(result.getTaskRun().getState().getCurrent()).isEqualTo(State.Type.SUCCESS));
+        // only one Sleep task can run at a time
+        assertThat(duration).isGreaterThanOrEqualTo(1500);
+    }
+
+    private WorkerTask workerTask(long sleepDuration) {
+        Sleep sleep = Sleep.builder()
+            .type(Sleep.class.getName())
+            .id("unit-test")
+            .duration(Property.ofValue(Duration.ofMillis(sleepDuration)))
+            .build();
+
+        Flow flow = Flow.builder()
+            .id(IdUtils.create())
+            .namespace("io.kestra.unit-test")
+            .tasks(Collections.singletonList(sleep))
+            .build();
+
+        Execution execution = TestsUtils.mockExecution(flow, ImmutableMap.of());
+
+        return WorkerTask.builder()
+            .runContext(runContextFactory.of(ImmutableMap.of("key", "value")))
+            .task(sleep)
+            .taskRun(TaskRun.of(execution, ResolvedTask.of(sleep)))
+            .build();
+    }
+}